@@ -0,0 +1,46 @@
+package com.cnu.docserver.auth.context;
+
+import com.cnu.docserver.user.enums.Role;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * 로그인 시 한 번 만들어 SecurityContext 에 넣는 사용자 정보.
+ * 학생/관리자 ID를 미리 풀어 두므로 요청마다 students/admins 를 다시 조회하지 않는다.
+ * 세션에 저장되므로 엔티티가 아닌 값만 들고 있다.
+ */
+public record LoginPrincipal(String memberId, String name, Role role, String studentId, String adminId)
+        implements Principal, Serializable {
+
+    /** 현재 요청의 로그인 사용자 (없으면 401) */
+    public static LoginPrincipal current() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof LoginPrincipal p)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        return p;
+    }
+
+    public String requireStudentId() {
+        if (studentId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "학생 정보를 찾을 수 없습니다.");
+        }
+        return studentId;
+    }
+
+    public String requireAdminId() {
+        if (adminId == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "관리자 권한이 없습니다.");
+        }
+        return adminId;
+    }
+
+    @Override
+    public String getName() {
+        return memberId;
+    }
+}
@@ -1,9 +1,13 @@
 package com.cnu.docserver.auth.controller;
 
+import com.cnu.docserver.auth.context.LoginPrincipal;
 import com.cnu.docserver.auth.dto.LoginRequestDTO;
 import com.cnu.docserver.auth.dto.LoginResponseDTO;
 import com.cnu.docserver.auth.service.AuthService;
+import com.cnu.docserver.user.entity.Admin;
 import com.cnu.docserver.user.entity.Member;
+import com.cnu.docserver.user.entity.Student;
+import com.cnu.docserver.user.repository.AdminRepository;
 import com.cnu.docserver.user.repository.StudentRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,6 +34,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final StudentRepository studentRepository;
+    private final AdminRepository adminRepository;
 
     /**
      * 로그인 처리: ID, PW 기반 로그인 후 세션에 사용자 저장
@@ -54,13 +59,24 @@ public class AuthController {
         authorities.add(new SimpleGrantedAuthority(roleName));
 
         //  학생인 경우 실제 Student 레코드가 없으면 로그인 실패로 처리 (데이터 무결성)
-        if ("ROLE_STUDENT".equals(roleName) && studentRepository.findByMember(loginMember).isEmpty()) {
-            return ResponseEntity.status(401).build();
+        String studentId = null;
+        String adminId = null;
+        switch (loginMember.getRole()) {
+            case STUDENT -> {
+                studentId = studentRepository.findByMember(loginMember).map(Student::getStudentId).orElse(null);
+                if (studentId == null) {
+                    return ResponseEntity.status(401).build();
+                }
+            }
+            case ADMIN -> adminId = adminRepository.findByMember(loginMember).map(Admin::getAdminId).orElse(null);
         }
 
         // 4) SecurityContext 에 Authentication 심기
+        //    학생/관리자 ID를 여기서 한 번만 풀어 두고, 이후 요청은 LoginPrincipal 에서 꺼내 쓴다
+        LoginPrincipal principal = new LoginPrincipal(
+                loginMember.getMemberId(), loginMember.getName(), loginMember.getRole(), studentId, adminId);
         UsernamePasswordAuthenticationToken auth =
-                new UsernamePasswordAuthenticationToken(loginMember, null, authorities);
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
         SecurityContext context = SecurityContextHolder.createEmptyContext();
         context.setAuthentication(auth);
         SecurityContextHolder.setContext(context);
@@ -1,18 +1,43 @@
 // com.cnu.docserver.common.RestClientConfig.java
 package com.cnu.docserver.common;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Configuration
+@Slf4j
 public class RestClientConfig {
+
+    private static final Duration OCR_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration OCR_READ_TIMEOUT = Duration.ofSeconds(600);   // 10분
+
     @Bean
     @Primary
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
@@ -23,13 +48,108 @@ public class RestClientConfig {
                 .build();
     }
 
-    /** OCR 전용 RestTemplate (타임아웃 여유) */
+    /** OCR 전용 RestTemplate (타임아웃 여유 + keep-alive 커넥션 풀) */
     @Bean(name = "ocrRestTemplate")
-    public RestTemplate ocrRestTemplate(RestTemplateBuilder builder) {
+    public RestTemplate ocrRestTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory ocrRequestFactory) {
         return builder
-                .setConnectTimeout(Duration.ofSeconds(10))  // 연결 타임아웃
-                .setReadTimeout(Duration.ofSeconds(600))   // 5분으로 확장
+                .requestFactory(() -> ocrRequestFactory)
                 .additionalMessageConverters(new ByteArrayHttpMessageConverter())
                 .build();
     }
+
+    /**
+     * OCR 호출용 요청 팩토리.
+     * 기본(HTTP_1_1)은 Apache HttpClient 커넥션 풀: 라우트당 최대 커넥션 = 검토 워커 수,
+     * 유휴 커넥션 정리와 TTL을 두고 풀 상태/임대 대기 시간을 Micrometer로 내보낸다.
+     * ocr.http.protocol=HTTP_2 면 JDK HttpClient로 하나의 커넥션을 다중화한다(풀 지표 없음).
+     */
+    @Bean
+    public ClientHttpRequestFactory ocrRequestFactory(
+            @Value("${ocr.http.protocol:HTTP_1_1}") String protocol,
+            @Value("${ocr.http.max-per-route:${ocr.review.executor.max-size:8}}") int maxPerRoute,
+            @Value("${ocr.http.idle-timeout:PT30S}") Duration idleTimeout,
+            @Value("${ocr.http.time-to-live:PT5M}") Duration timeToLive,
+            @Value("${ocr.http.lease-timeout:PT30S}") Duration leaseTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        if ("HTTP_2".equalsIgnoreCase(protocol)) {
+            java.net.http.HttpClient jdkClient = java.net.http.HttpClient.newBuilder()
+                    .version(java.net.http.HttpClient.Version.HTTP_2)
+                    .connectTimeout(OCR_CONNECT_TIMEOUT)
+                    .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(jdkClient);
+            factory.setReadTimeout(OCR_READ_TIMEOUT);
+            log.info("OCR HTTP client: JDK HttpClient (HTTP/2)");
+            return factory;
+        }
+
+        TimedPoolingConnectionManager connectionManager = new TimedPoolingConnectionManager(
+                Timer.builder("ocr.http.pool.lease")
+                        .description("OCR 커넥션 풀에서 커넥션을 임대받기까지 걸린 시간")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setMaxTotal(maxPerRoute * 2);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(OCR_CONNECT_TIMEOUT))
+                .setSocketTimeout(Timeout.of(OCR_READ_TIMEOUT))
+                .setTimeToLive(TimeValue.of(timeToLive))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                .build());
+
+        Gauge.builder("ocr.http.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("사용 중인 OCR 커넥션 수").register(meterRegistry);
+        Gauge.builder("ocr.http.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("커넥션을 기다리는 OCR 요청 수").register(meterRegistry);
+        Gauge.builder("ocr.http.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .description("재사용 가능한 유휴 OCR 커넥션 수").register(meterRegistry);
+        Gauge.builder("ocr.http.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .description("OCR 커넥션 풀 최대 크기").register(meterRegistry);
+
+        HttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(leaseTimeout))
+                        .setResponseTimeout(Timeout.of(OCR_READ_TIMEOUT))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+
+        log.info("OCR HTTP client: pooled Apache HttpClient (maxPerRoute={}, ttl={}, idle={})",
+                maxPerRoute, timeToLive, idleTimeout);
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /** 커넥션 임대 대기 시간을 기록하는 풀 */
+    static class TimedPoolingConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final Timer leaseTimer;
+
+        TimedPoolingConnectionManager(Timer leaseTimer) {
+            this.leaseTimer = leaseTimer;
+        }
+
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+            return new LeaseRequest() {
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                        throws InterruptedException, ExecutionException, TimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return delegate.get(timeout);
+                    } finally {
+                        leaseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return delegate.cancel();
+                }
+            };
+        }
+    }
 }
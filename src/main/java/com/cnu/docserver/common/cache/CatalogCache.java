@@ -0,0 +1,167 @@
+package com.cnu.docserver.common.cache;
+
+import com.cnu.docserver.deadline.entity.Deadline;
+import com.cnu.docserver.deadline.repository.DeadlineRepository;
+import com.cnu.docserver.docmanger.entity.DocType;
+import com.cnu.docserver.docmanger.entity.RequiredField;
+import com.cnu.docserver.docmanger.repository.DocTypeRepository;
+import com.cnu.docserver.docmanger.repository.RequiredFieldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 제출 경로에서 매번 읽던 기준 데이터(문서 유형, 마감일, 필수 항목 이름 → ID) 캐시.
+ * 학기 중 몇 번 바뀌지 않으므로 메모리 LRU 에 불변 스냅샷으로 들고 있고,
+ * 바뀌는 곳(DocTypeService, DeadlineService)에서 {@link #invalidate(Integer)} 로 비운다.
+ * 엔티티가 아니라 값만 들고 있으므로 연관관계가 필요하면 getReferenceById 로 프록시를 만든다.
+ * 비울 때 학생 조회용 {@link CatalogSnapshot} 도 같이 낡은 것으로 표시한다.
+ */
+@Component
+public class CatalogCache {
+
+    /** 문서 유형 스냅샷 */
+    public record DocTypeInfo(Integer docTypeId, Integer departmentId, String title) {}
+
+    private final DocTypeRepository docTypeRepository;
+    private final DeadlineRepository deadlineRepository;
+    private final RequiredFieldRepository requiredFieldRepository;
+    private final CatalogSnapshot snapshot;
+
+    private final Region<DocTypeInfo> docTypes;
+    private final Region<Optional<LocalDate>> deadlines;          // 마감일 없음도 캐시 (Optional.empty)
+    private final Region<Map<String, Integer>> requiredFieldIds;
+
+    public CatalogCache(DocTypeRepository docTypeRepository,
+                        DeadlineRepository deadlineRepository,
+                        RequiredFieldRepository requiredFieldRepository,
+                        CatalogSnapshot snapshot,
+                        MeterRegistry meterRegistry,
+                        @Value("${catalog.cache.max-entries:2000}") int maxEntries) {
+        this.docTypeRepository = docTypeRepository;
+        this.deadlineRepository = deadlineRepository;
+        this.requiredFieldRepository = requiredFieldRepository;
+        this.snapshot = snapshot;
+        this.docTypes = new Region<>("doc_type", maxEntries, meterRegistry);
+        this.deadlines = new Region<>("deadline", maxEntries, meterRegistry);
+        this.requiredFieldIds = new Region<>("required_fields", maxEntries, meterRegistry);
+    }
+
+    /** 문서 유형 (없는 ID는 캐시하지 않는다) */
+    public Optional<DocTypeInfo> docType(Integer docTypeId) {
+        return Optional.ofNullable(docTypes.get(docTypeId, id -> docTypeRepository.findById(id)
+                .map(CatalogCache::toInfo)
+                .orElse(null)));
+    }
+
+    public Optional<LocalDate> deadline(Integer docTypeId) {
+        return deadlines.get(docTypeId, id -> deadlineRepository.findByDocType_DocTypeId(id)
+                .map(Deadline::getDeadline));
+    }
+
+    /** 필수 항목 이름 → required_field_id */
+    public Map<String, Integer> requiredFieldIds(Integer docTypeId) {
+        return requiredFieldIds.get(docTypeId, id -> {
+            Map<String, Integer> loaded = new HashMap<>();
+            for (RequiredField rf : requiredFieldRepository.findByDocType_DocTypeId(id)) {
+                String name = rf.getFieldName();
+                if (name != null && !name.isBlank()) {
+                    loaded.put(name, rf.getRequiredFieldId());
+                }
+            }
+            return Map.copyOf(loaded);
+        });
+    }
+
+    /**
+     * 문서 유형/마감일/필수 항목이 바뀐 트랜잭션에서 호출. 지금 한 번, 커밋 후 한 번 더 비운다
+     * (커밋 전에 다른 요청이 옛 값을 다시 채워 넣는 경우 대비).
+     */
+    public void invalidate(Integer docTypeId) {
+        evict(docTypeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(docTypeId);
+                }
+            });
+        }
+    }
+
+    private void evict(Integer docTypeId) {
+        docTypes.evict(docTypeId);
+        deadlines.evict(docTypeId);
+        requiredFieldIds.evict(docTypeId);
+        snapshot.markStale();
+    }
+
+    private static DocTypeInfo toInfo(DocType d) {
+        // department 는 LAZY 프록시지만 ID 는 초기화 없이 읽힌다
+        return new DocTypeInfo(d.getDocTypeId(), d.getDepartment().getDepartmentId(), d.getTitle());
+    }
+
+    /**
+     * LRU + 적중/실패 카운터 (catalog.cache{cache, result}).
+     * 로딩 중에 evict 가 끼어들면(커밋 전 옛 값을 읽은 경우) 그 값은 넣지 않도록 세대(generation) 번호를 비교한다.
+     */
+    private static final class Region<V> {
+        final LruCache<Integer, V> cache;
+        final Counter hits;
+        final Counter misses;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long generation;
+
+        Region(String name, int maxEntries, MeterRegistry meterRegistry) {
+            this.cache = new LruCache<>(maxEntries);
+            this.hits = Counter.builder("catalog.cache").tag("cache", name).tag("result", "hit")
+                    .description("기준 데이터 캐시 조회 결과").register(meterRegistry);
+            this.misses = Counter.builder("catalog.cache").tag("cache", name).tag("result", "miss")
+                    .description("기준 데이터 캐시 조회 결과").register(meterRegistry);
+            Gauge.builder("catalog.cache.size", cache, LruCache::size).tag("cache", name)
+                    .description("기준 데이터 캐시 항목 수").register(meterRegistry);
+        }
+
+        V get(Integer key, Function<Integer, V> loader) {
+            Optional<V> cached = cache.get(key);
+            if (cached.isPresent()) {
+                hits.increment();
+                return cached.get();
+            }
+            misses.increment();
+            long startedAt = generation;
+            V loaded = loader.apply(key);
+            lock.lock();
+            try {
+                if (generation == startedAt) {
+                    cache.put(key, loaded);   // null 은 넣지 않음
+                }
+            } finally {
+                lock.unlock();
+            }
+            return loaded;
+        }
+
+        // 세대를 올려 진행 중인 로딩이 옛 값을 넣지 못하게 하고 항목을 비운다
+        void evict(Integer key) {
+            lock.lock();
+            try {
+                generation++;
+                cache.invalidate(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
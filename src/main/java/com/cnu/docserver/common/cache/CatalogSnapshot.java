@@ -0,0 +1,205 @@
+package com.cnu.docserver.common.cache;
+
+import com.cnu.docserver.deadline.dto.DeadlineStatusDTO;
+import com.cnu.docserver.deadline.entity.Deadline;
+import com.cnu.docserver.deadline.repository.DeadlineRepository;
+import com.cnu.docserver.department.dto.DepartmentResponseDTO;
+import com.cnu.docserver.department.entity.Department;
+import com.cnu.docserver.department.repository.DepartmentRepository;
+import com.cnu.docserver.docmanger.dto.DocTypeResponseDTO;
+import com.cnu.docserver.docmanger.dto.RequiredFieldDTO;
+import com.cnu.docserver.docmanger.entity.DocType;
+import com.cnu.docserver.docmanger.entity.RequiredField;
+import com.cnu.docserver.docmanger.repository.DocTypeRepository;
+import com.cnu.docserver.docmanger.repository.RequiredFieldRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 학생 기본 조회 API(부서 → 문서 유형 → 필수 항목/양식 URL/마감일)용 카탈로그 스냅샷.
+ * <p>
+ * 모든 학생이 페이지마다 부르지만 학기 중 거의 바뀌지 않으므로, 전체를 쿼리 몇 번으로 한 번에 읽어
+ * 응답 JSON 바이트와 강한 ETag(내용 SHA-256)까지 미리 만들어 둔다. 요청은 DB 조회도 직렬화도 없이 바이트를 돌려주고,
+ * If-None-Match 가 같으면 304 로 끝난다.
+ * 문서 유형/마감일이 바뀌면 {@link CatalogCache#invalidate(Integer)} 가 {@link #markStale()} 을 불러
+ * 다음 요청에서 다시 만든다. 부서처럼 API 로 바뀌지 않는 데이터는 max-age 가 지나면 새로 읽는다.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshot {
+
+    /** 미리 직렬화한 응답 본문 + 강한 ETag */
+    public record Payload(byte[] json, String etag) {}
+
+    private record Snapshot(long generation, long version, Instant builtAt,
+                            Payload departments,
+                            Map<Integer, Payload> docTypesByDepartment,
+                            Map<Integer, Payload> requiredFieldsByDocType,
+                            Map<Integer, Payload> deadlineByDocType) {}
+
+    private final DepartmentRepository departmentRepository;
+    private final DocTypeRepository docTypeRepository;
+    private final RequiredFieldRepository requiredFieldRepository;
+    private final DeadlineRepository deadlineRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    private final Duration maxAge;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();   // markStale 마다 증가
+    private final AtomicLong version = new AtomicLong();      // 다시 만든 횟수
+    private volatile Snapshot current;
+
+    public CatalogSnapshot(DepartmentRepository departmentRepository,
+                           DocTypeRepository docTypeRepository,
+                           RequiredFieldRepository requiredFieldRepository,
+                           DeadlineRepository deadlineRepository,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${catalog.snapshot.max-age:PT10M}") Duration maxAge) {
+        this.departmentRepository = departmentRepository;
+        this.docTypeRepository = docTypeRepository;
+        this.requiredFieldRepository = requiredFieldRepository;
+        this.deadlineRepository = deadlineRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxAge = maxAge;
+        Gauge.builder("catalog.snapshot.version", version, AtomicLong::get)
+                .description("카탈로그 스냅샷을 다시 만든 횟수").register(meterRegistry);
+    }
+
+    public Payload departments() {
+        return snapshot().departments();
+    }
+
+    public Optional<Payload> docTypes(Integer departmentId) {
+        return Optional.ofNullable(snapshot().docTypesByDepartment().get(departmentId));
+    }
+
+    public Optional<Payload> requiredFields(Integer docTypeId) {
+        return Optional.ofNullable(snapshot().requiredFieldsByDocType().get(docTypeId));
+    }
+
+    public Optional<Payload> deadline(Integer docTypeId) {
+        return Optional.ofNullable(snapshot().deadlineByDocType().get(docTypeId));
+    }
+
+    /** 문서 유형/필수 항목/양식 파일/마감일이 바뀌면 호출 (다음 조회에서 다시 만든다) */
+    public void markStale() {
+        generation.incrementAndGet();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snap = current;
+        if (isFresh(snap)) return snap;
+
+        rebuildLock.lock();   // 한 요청만 다시 만들고 나머지는 결과를 기다린다
+        try {
+            snap = current;
+            if (isFresh(snap)) return snap;
+            long gen = generation.get();   // 만드는 도중 markStale 되면 다음 요청에서 다시 만든다
+            long started = System.nanoTime();
+            snap = readOnlyTx.execute(status -> build(gen));
+            current = snap;
+            log.info("📚 Catalog snapshot v{} built in {} ms", snap.version(),
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+            return snap;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean isFresh(Snapshot snap) {
+        return snap != null
+                && snap.generation() == generation.get()
+                && snap.builtAt().plus(maxAge).isAfter(Instant.now());
+    }
+
+    // 부서/문서 유형(+양식 파일)/필수 항목/마감일을 각각 한 번씩만 읽는다
+    private Snapshot build(long gen) {
+        List<Department> departments = departmentRepository.findAll(Sort.by(Sort.Direction.ASC, "departmentId"));
+        List<DocType> docTypes = docTypeRepository.findAllWithOriginalFile();
+
+        Map<Integer, List<RequiredField>> fieldsByDocType = new HashMap<>();
+        for (RequiredField rf : requiredFieldRepository.findAll(Sort.by(Sort.Direction.ASC, "requiredFieldId"))) {
+            fieldsByDocType.computeIfAbsent(rf.getDocType().getDocTypeId(), k -> new ArrayList<>()).add(rf);
+        }
+        // Deadline.docType 은 EAGER 지만 위에서 읽은 문서 유형이 영속성 컨텍스트에 있어 추가 조회가 없다
+        Map<Integer, Deadline> deadlineByDocType = new HashMap<>();
+        for (Deadline d : deadlineRepository.findAll()) {
+            deadlineByDocType.put(d.getDocType().getDocTypeId(), d);
+        }
+
+        Map<Integer, List<DocTypeResponseDTO>> docTypeDtos = new HashMap<>();
+        departments.forEach(dept -> docTypeDtos.put(dept.getDepartmentId(), new ArrayList<>()));
+        Map<Integer, Payload> requiredFields = new HashMap<>();
+        Map<Integer, Payload> deadlines = new HashMap<>();
+        for (DocType docType : docTypes) {
+            Integer id = docType.getDocTypeId();
+            List<RequiredField> fields = fieldsByDocType.getOrDefault(id, List.of());
+            String fileUrl = docType.getOriginalFile() == null ? null : docType.getOriginalFile().getFileUrl();
+
+            docTypeDtos.computeIfAbsent(docType.getDepartment().getDepartmentId(), k -> new ArrayList<>())
+                    .add(new DocTypeResponseDTO(id, docType.getTitle(),
+                            fields.stream().map(RequiredField::getFieldName).toList(), fileUrl));
+            requiredFields.put(id, payload(fields.stream()
+                    .map(f -> RequiredFieldDTO.builder()
+                            .requiredFieldId(f.getRequiredFieldId())
+                            .label(f.getFieldName())
+                            .example(f.getExampleValue())
+                            .required(true)
+                            .orderNo(null)
+                            .build())
+                    .toList()));
+            Deadline deadline = deadlineByDocType.get(id);
+            deadlines.put(id, payload(DeadlineStatusDTO.builder()
+                    .docTypeId(id)
+                    .title(docType.getTitle())
+                    .deadline(deadline == null ? null : deadline.getDeadline())
+                    .build()));
+        }
+
+        Map<Integer, Payload> docTypesByDepartment = new HashMap<>();
+        docTypeDtos.forEach((deptId, list) -> docTypesByDepartment.put(deptId, payload(list)));
+
+        Payload departmentList = payload(departments.stream()
+                .map(d -> DepartmentResponseDTO.builder()
+                        .id(d.getDepartmentId())
+                        .name(d.getName())
+                        .phone(d.getPhone())
+                        .build())
+                .toList());
+
+        return new Snapshot(gen, version.incrementAndGet(), Instant.now(), departmentList,
+                Map.copyOf(docTypesByDepartment), Map.copyOf(requiredFields), Map.copyOf(deadlines));
+    }
+
+    private Payload payload(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            // 내용이 같으면 다시 만들어도 ETag 가 그대로라 클라이언트 캐시가 유지된다
+            return new Payload(json, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
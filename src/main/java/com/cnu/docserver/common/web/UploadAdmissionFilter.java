@@ -0,0 +1,234 @@
+package com.cnu.docserver.common.web;
+
+import com.cnu.docserver.auth.context.LoginPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 제출 쓰기 요청(POST/PUT /api/submissions/**) 입장 제어.
+ * <p>
+ * 마감 직전 몰리는 업로드가 Tomcat 스레드/멀티파트 임시 파일/DB 커넥션을 모두 잡아 노드 전체가 느려지지 않도록,
+ * 본문을 읽기 전에(멀티파트 파싱 전) 다음 순서로 확인하고 넘치면 바로 돌려보낸다.
+ * <ol>
+ *   <li>학생별 토큰 버킷 → 429 + Retry-After(다음 토큰까지 남은 초)</li>
+ *   <li>동시 업로드 수 → 503 + Retry-After</li>
+ *   <li>처리 중인 업로드 바이트 합계(Content-Length 기준) → 503 + Retry-After</li>
+ * </ol>
+ * 받아들인 요청만 끝까지 처리하므로 그 요청들의 지연 시간이 유지된다.
+ * Spring Security 필터 뒤에서 돌기 때문에 로그인 정보({@link LoginPrincipal})를 쓸 수 있다.
+ */
+@Component
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String PATH_PREFIX = "/api/submissions";
+    private static final String CHUNK_PATH_PREFIX = PATH_PREFIX + "/uploads/sessions/";
+
+    private final boolean enabled;
+    private final Semaphore slots;
+    private final int maxConcurrent;
+    private final long maxBytesInFlight;
+    private final long unknownLengthBytes;
+    private final Duration queueWait;
+    private final long retryAfterSeconds;
+
+    private final double bucketCapacity;
+    private final double refillPerNano;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong bytesInFlight = new AtomicLong();
+    private final Counter rejectedRate;
+    private final Counter rejectedConcurrency;
+    private final Counter rejectedBytes;
+
+    public UploadAdmissionFilter(MeterRegistry meterRegistry,
+                                 @Value("${upload.admission.enabled:true}") boolean enabled,
+                                 @Value("${upload.admission.max-concurrent:32}") int maxConcurrent,
+                                 @Value("${upload.admission.max-bytes-in-flight:512MB}") DataSize maxBytesInFlight,
+                                 @Value("${upload.admission.unknown-length-bytes:8MB}") DataSize unknownLengthBytes,
+                                 @Value("${upload.admission.queue-wait:PT0.2S}") Duration queueWait,
+                                 @Value("${upload.admission.retry-after:PT2S}") Duration retryAfter,
+                                 @Value("${upload.admission.per-student.burst:5}") int burst,
+                                 @Value("${upload.admission.per-student.per-minute:12}") int perMinute) {
+        this.enabled = enabled;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.slots = new Semaphore(this.maxConcurrent);
+        this.maxBytesInFlight = maxBytesInFlight.toBytes();
+        this.unknownLengthBytes = unknownLengthBytes.toBytes();
+        this.queueWait = queueWait;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.bucketCapacity = Math.max(1, burst);
+        this.refillPerNano = Math.max(1, perMinute) / (double) TimeUnit.MINUTES.toNanos(1);
+
+        Gauge.builder("upload.admission.active", slots, s -> this.maxConcurrent - s.availablePermits())
+                .description("처리 중인 제출 업로드 요청 수").register(meterRegistry);
+        Gauge.builder("upload.admission.bytes.in.flight", bytesInFlight, AtomicLong::get)
+                .description("처리 중인 제출 업로드 바이트 합계(Content-Length 기준)").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("upload.admission.students", buckets, Map::size)
+                .description("토큰 버킷을 가진 학생 수").register(meterRegistry);
+        this.rejectedRate = rejected(meterRegistry, "rate");
+        this.rejectedConcurrency = rejected(meterRegistry, "concurrency");
+        this.rejectedBytes = rejected(meterRegistry, "bytes");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) return true;
+        String method = request.getMethod();
+        if (!"POST".equals(method) && !"PUT".equals(method)) return true;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.equals(PATH_PREFIX) || path.startsWith(PATH_PREFIX + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // 1) 학생별 요청 속도 (이어 올리기 조각 PUT 은 한 파일에 여러 번 오므로 제외)
+        long waitNanos = isChunk(request) ? 0 : buckets
+                .computeIfAbsent(clientKey(request), k -> new TokenBucket(bucketCapacity))
+                .tryTake(bucketCapacity, refillPerNano);
+        if (waitNanos > 0) {
+            rejectedRate.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1), "요청이 너무 잦습니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+
+        // 2) 동시 업로드 수 (잠깐만 기다려 보고 안 되면 바로 거절)
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(queueWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedConcurrency.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds, "제출이 몰리고 있습니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+
+        // 3) 처리 중인 바이트 (다른 업로드가 없으면 한도보다 큰 요청도 하나는 받아들인다)
+        long length = request.getContentLengthLong();
+        long bytes = length >= 0 ? length : unknownLengthBytes;
+        long after = bytesInFlight.addAndGet(bytes);
+        if (after > maxBytesInFlight && after != bytes) {
+            bytesInFlight.addAndGet(-bytes);
+            slots.release();
+            rejectedBytes.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds, "제출이 몰리고 있습니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bytesInFlight.addAndGet(-bytes);
+            slots.release();
+        }
+    }
+
+    /** 가득 찬(= 한동안 요청이 없던) 버킷은 새로 만든 것과 같으므로 지운다 */
+    @Scheduled(fixedDelayString = "${upload.admission.bucket-cleanup-interval-ms:300000}")
+    public void evictIdleBuckets() {
+        buckets.values().removeIf(b -> b.isFull(bucketCapacity, refillPerNano));
+    }
+
+    private static boolean isChunk(HttpServletRequest request) {
+        return "PUT".equals(request.getMethod())
+                && request.getRequestURI().substring(request.getContextPath().length()).startsWith(CHUNK_PATH_PREFIX);
+    }
+
+    // 로그인 사용자면 회원 ID, 아니면 세션/IP 기준
+    private static String clientKey(HttpServletRequest request) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof LoginPrincipal p) {
+            return "m:" + p.memberId();
+        }
+        var session = request.getSession(false);
+        return session != null ? "s:" + session.getId() : "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfter, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        // 본문을 읽지 않고 응답하므로 남은 업로드는 받지 않고 연결을 닫게 한다
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":" + status.value()
+                + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + message + "\"}");
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("upload.admission.rejected").tag("reason", reason)
+                .description("입장 제어로 거절한 제출 업로드 요청 수").register(meterRegistry);
+    }
+
+    /** 학생별 토큰 버킷 (분당 perMinute 개씩 채워지고 최대 burst 개) */
+    private static final class TokenBucket {
+        private final ReentrantLock lock = new ReentrantLock();   // 가상 스레드 pinning 방지로 synchronized 대신
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(double capacity) {
+            this.tokens = capacity;
+        }
+
+        /** @return 0 이면 통과, 아니면 다음 토큰까지 남은 나노초 */
+        long tryTake(double capacity, double refillPerNano) {
+            lock.lock();
+            try {
+                refill(capacity, refillPerNano);
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return 0;
+                }
+                return (long) Math.ceil((1 - tokens) / refillPerNano);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isFull(double capacity, double refillPerNano) {
+            lock.lock();
+            try {
+                refill(capacity, refillPerNano);
+                return tokens >= capacity;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void refill(double capacity, double refillPerNano) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.cnu.docserver.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * OCR 검토 전용 실행기.
+ * 워커 수와 대기열 크기를 제한해서 마감 직전 제출이 몰려도 스레드/메모리가 폭주하지 않게 한다.
+ * 대기열까지 가득 차면 작업을 버리고(제출은 BOT_REVIEW 상태로 남음) 거절 횟수만 기록한다.
+ * spring.threads.virtual.enabled=true (JDK 21+, virtual 프로필) 이면 워커를 가상 스레드로 띄운다.
+ */
+@Configuration
+@Slf4j
+public class ReviewExecutorConfig {
+
+    public static final String REVIEW_EXECUTOR = "ocrReviewExecutor";
+
+    @Bean(name = REVIEW_EXECUTOR)
+    public ThreadPoolTaskExecutor ocrReviewExecutor(
+            @Value("${ocr.review.executor.core-size:4}") int coreSize,
+            @Value("${ocr.review.executor.max-size:8}") int maxSize,
+            @Value("${ocr.review.executor.queue-capacity:200}") int queueCapacity,
+            MeterRegistry meterRegistry,
+            Environment environment
+    ) {
+        Counter rejected = Counter.builder("ocr.review.executor.rejected")
+                .description("대기열 초과로 거절된 OCR 검토 작업 수")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, maxSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ocr-review-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // 워커 수/대기열 한도는 그대로 두고 스레드만 가상 스레드로: OCR 응답을 기다리는 동안 캐리어 스레드를 놓아준다.
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("ocr-review-").getVirtualThreadFactory());
+            log.info("OCR review executor: virtual threads (max {})", Math.max(coreSize, maxSize));
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        // 호출 스레드에서 실행(CallerRuns)하면 요청 스레드가 OCR 응답까지 묶이므로 버리고 기록만 남긴다.
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            log.warn("⚠️ OCR review executor saturated (active={}, queued={}). Task dropped, submission stays in BOT_REVIEW.",
+                    pool.getActiveCount(), pool.getQueue().size());
+        });
+
+        Gauge.builder("ocr.review.executor.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("대기 중인 OCR 검토 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("ocr.review.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("실행 중인 OCR 검토 워커 수")
+                .register(meterRegistry);
+        Gauge.builder("ocr.review.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("현재 OCR 검토 워커 스레드 수")
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
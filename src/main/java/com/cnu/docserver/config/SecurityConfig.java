@@ -28,6 +28,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // 업로드 임시 영역(.multipart/.staging/.chunks)은 정적 파일로 내보내지 않음
+                        .requestMatchers("/uploads/.*/**").denyAll()
                         .requestMatchers(
                                 "/auth/login",
                                 "/auth/me",
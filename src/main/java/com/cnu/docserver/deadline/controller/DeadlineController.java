@@ -3,6 +3,7 @@ package com.cnu.docserver.deadline.controller;
 
 import com.cnu.docserver.deadline.dto.DeadlineRequestDTO;
 import com.cnu.docserver.deadline.dto.DeadlineStatusDTO;
+import com.cnu.docserver.deadline.dto.DepartmentDeadlinesDTO;
 import com.cnu.docserver.deadline.entity.Deadline;
 import com.cnu.docserver.deadline.service.DeadlineService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,6 +31,12 @@ public class DeadlineController {
         return ResponseEntity.ok(deadlineService.getDeadlineByDepartment(departmentId));
     }
 
+    @GetMapping("/departments")
+    @Operation(summary = "여러 부서 마감일 조회", description = "대시보드용. departmentIds 로 받은 부서들의 문서별 마감일을 한 번에 반환합니다.")
+    public ResponseEntity<List<DepartmentDeadlinesDTO>> getDeadlinesByDepartments(@RequestParam List<Integer> departmentIds) {
+        return ResponseEntity.ok(deadlineService.getDeadlinesByDepartments(departmentIds));
+    }
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "마감일 등록/수정", description = "부서ID에 대해 마감일을 등록하거나 수정합니다. (오늘 이후 날짜만 허용)")
     public ResponseEntity<String> registerOrUpdateDeadline(@RequestBody @Valid DeadlineRequestDTO deadlineRequestDTO) {
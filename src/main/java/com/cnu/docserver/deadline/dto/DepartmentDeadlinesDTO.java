@@ -0,0 +1,16 @@
+package com.cnu.docserver.deadline.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DepartmentDeadlinesDTO {
+
+    private Integer departmentId;
+    private List<DeadlineStatusDTO> deadlines; // 문서 유형 ID 순
+}
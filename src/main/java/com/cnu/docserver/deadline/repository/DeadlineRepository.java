@@ -1,9 +1,14 @@
 package com.cnu.docserver.deadline.repository;
 
+import com.cnu.docserver.deadline.dto.DeadlineStatusDTO;
 import com.cnu.docserver.deadline.entity.Deadline;
 import com.cnu.docserver.docmanger.entity.DocType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface DeadlineRepository extends JpaRepository<Deadline,Integer> {
@@ -11,4 +16,35 @@ public interface DeadlineRepository extends JpaRepository<Deadline,Integer> {
     // 1. docType 기준으로 마감일 조회
     Optional<Deadline> findByDocType(DocType docType);
 
+    Optional<Deadline> findByDocType_DocTypeId(Integer docTypeId);
+
+    // 2. 부서의 문서별 마감일: 문서 유형 ⟕ 마감일 한 번에 (마감일 없는 문서는 deadline = null)
+    @Query("""
+      select new com.cnu.docserver.deadline.dto.DeadlineStatusDTO(dt.docTypeId, dt.title, d.deadline)
+      from DocType dt
+      left join Deadline d on d.docType = dt
+      where dt.department.departmentId = :departmentId
+      order by dt.docTypeId
+    """)
+    List<DeadlineStatusDTO> findStatusByDepartmentId(@Param("departmentId") Integer departmentId);
+
+    // 3. 문서 하나의 마감일 (문서가 없으면 빈 값)
+    @Query("""
+      select new com.cnu.docserver.deadline.dto.DeadlineStatusDTO(dt.docTypeId, dt.title, d.deadline)
+      from DocType dt
+      left join Deadline d on d.docType = dt
+      where dt.docTypeId = :docTypeId
+    """)
+    Optional<DeadlineStatusDTO> findStatusByDocTypeId(@Param("docTypeId") Integer docTypeId);
+
+    // 4. 여러 부서 한 번에 (관리자 대시보드): [departmentId, docTypeId, title, deadline]
+    @Query("""
+      select dt.department.departmentId, dt.docTypeId, dt.title, d.deadline
+      from DocType dt
+      left join Deadline d on d.docType = dt
+      where dt.department.departmentId in :departmentIds
+      order by dt.department.departmentId, dt.docTypeId
+    """)
+    List<Object[]> findStatusRowsByDepartmentIds(@Param("departmentIds") Collection<Integer> departmentIds);
+
 }
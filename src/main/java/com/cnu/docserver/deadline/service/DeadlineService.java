@@ -1,19 +1,26 @@
 package com.cnu.docserver.deadline.service;
 
+import com.cnu.docserver.common.cache.CatalogCache;
 import com.cnu.docserver.deadline.dto.DeadlineRequestDTO;
 import com.cnu.docserver.deadline.dto.DeadlineStatusDTO;
+import com.cnu.docserver.deadline.dto.DepartmentDeadlinesDTO;
 import com.cnu.docserver.deadline.entity.Deadline;
 import com.cnu.docserver.deadline.repository.DeadlineRepository;
-import com.cnu.docserver.department.entity.Department;
 import com.cnu.docserver.docmanger.entity.DocType;
 import com.cnu.docserver.department.repository.DepartmentRepository;
 import com.cnu.docserver.docmanger.repository.DocTypeRepository;
-import jakarta.transaction.Transactional;
+import com.cnu.docserver.ocr.ReviewJobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -23,44 +30,45 @@ public class DeadlineService {
     private final DepartmentRepository departmentRepository;
     private final DocTypeRepository docTypeRepository;
     private final DeadlineRepository deadlineRepository;
+    private final ReviewJobService reviewJobService;
+    private final CatalogCache catalogCache;
 
 
 
-    // 부서별 마감일 조회
-    @Transactional
+    // 부서별 마감일 조회 (문서 유형 ⟕ 마감일 쿼리 1번)
+    @Transactional(readOnly = true)
     public List<DeadlineStatusDTO> getDeadlineByDepartment(Integer departmentId){
-        Department department = departmentRepository.findById(departmentId)
-                .orElseThrow(()->new RuntimeException("부서를 찾을 수 없습니다."));
-
-        List<DocType> docTypes = docTypeRepository.findByDepartment(department);
-
-        return docTypes.stream()
-                .map(docType-> {
-                    Optional<Deadline> deadlineOptional = deadlineRepository.findByDocType(docType);
-                    return DeadlineStatusDTO.builder()
-                            .docTypeId(docType.getDocTypeId())
-                            .title(docType.getTitle())
-                            .deadline(deadlineOptional.map(Deadline::getDeadline).orElse(null))
-                            .build();
-                })
+        List<DeadlineStatusDTO> rows = deadlineRepository.findStatusByDepartmentId(departmentId);
+        if (rows.isEmpty() && !departmentRepository.existsById(departmentId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "부서를 찾을 수 없습니다.");
+        }
+        return rows;
+    }
+
+    // 여러 부서 마감일 한 번에 (관리자 대시보드용, 쿼리 1번). 요청한 순서대로, 문서가 없는 부서는 빈 목록
+    @Transactional(readOnly = true)
+    public List<DepartmentDeadlinesDTO> getDeadlinesByDepartments(List<Integer> departmentIds) {
+        if (departmentIds == null || departmentIds.isEmpty()) return List.of();
+
+        Map<Integer, List<DeadlineStatusDTO>> byDepartment = new LinkedHashMap<>();
+        departmentIds.forEach(id -> byDepartment.putIfAbsent(id, new ArrayList<>()));
+        for (Object[] row : deadlineRepository.findStatusRowsByDepartmentIds(byDepartment.keySet())) {
+            byDepartment.get((Integer) row[0]).add(DeadlineStatusDTO.builder()
+                    .docTypeId((Integer) row[1])
+                    .title((String) row[2])
+                    .deadline((LocalDate) row[3])
+                    .build());
+        }
+        return byDepartment.entrySet().stream()
+                .map(e -> new DepartmentDeadlinesDTO(e.getKey(), e.getValue()))
                 .toList();
     }
+
     //단건 조회
-    @Transactional
+    @Transactional(readOnly = true)
     public DeadlineStatusDTO getDeadlineByDocTypeId(Integer docTypeId) {
-        DocType docType = docTypeRepository.findById(docTypeId)
+        return deadlineRepository.findStatusByDocTypeId(docTypeId)
                 .orElseThrow(() -> new RuntimeException("문서를 찾을 수 없습니다."));
-        return deadlineRepository.findByDocType(docType)
-                .map(d -> DeadlineStatusDTO.builder()
-                        .docTypeId(docType.getDocTypeId())
-                        .title(docType.getTitle())
-                        .deadline(d.getDeadline())
-                        .build())
-                .orElse(DeadlineStatusDTO.builder()
-                        .docTypeId(docType.getDocTypeId())
-                        .title(docType.getTitle())
-                        .deadline(null)
-                        .build());
     }
 
 
@@ -81,6 +89,10 @@ public class DeadlineService {
         Deadline deadline = existingDeadline.orElseGet(()->Deadline.builder().docType(docType).build());
         deadline.setDeadline(deadlineRequestDTO.getDeadline());
         deadlineRepository.save(deadline);
+        catalogCache.invalidate(docType.getDocTypeId());
+
+        // 대기 중인 OCR 검토 작업도 새 마감일 기준으로 정렬되게
+        reviewJobService.updateDueDate(docType.getDocTypeId(), deadline.getDeadline());
     }
 
     //삭제 deleteDeadlineByDocTypeId
@@ -89,6 +101,10 @@ public class DeadlineService {
         DocType docType = docTypeRepository.findById(docTypeId)
                 .orElseThrow(() -> new RuntimeException("문서를 찾을 수 없습니다."));
         deadlineRepository.findByDocType(docType)
-                .ifPresent(deadlineRepository::delete);
+                .ifPresent(deadline -> {
+                    deadlineRepository.delete(deadline);
+                    catalogCache.invalidate(docTypeId);
+                    reviewJobService.updateDueDate(docTypeId, null);
+                });
     }
 }
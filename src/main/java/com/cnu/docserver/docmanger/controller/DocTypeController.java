@@ -9,7 +9,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -19,8 +19,11 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.MediaType;
 import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
@@ -82,8 +85,8 @@ public class DocTypeController {
         var file = docTypeService.getOriginalFileByDocTypeId(docTypeId)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(HttpStatus.NOT_FOUND));
 
-        byte[] bytes = docTypeService.readBytes(file.getFileUrl());
-        ByteArrayResource body = new ByteArrayResource(bytes);
+        Path path = docTypeService.resolveFile(file.getFileUrl());
+        FileSystemResource body = new FileSystemResource(path);   // 응답 쓰면서 디스크에서 읽는다
 
         // ▼ fileUrl에서 안전하게 파일명 추출 (URL 디코딩 + 마지막 세그먼트만)
         String filename = extractFilenameFromUrl(file.getFileUrl());
@@ -96,11 +99,19 @@ public class DocTypeController {
                         "attachment; filename*=UTF-8''" + UriUtils.encode(filename, StandardCharsets.UTF_8))
                 .header(HttpHeaders.CACHE_CONTROL, "no-store")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM) // 필요시 확장자에 따라 바꿔도 OK
-                .contentLength(bytes.length)
+                .contentLength(fileSize(path))
                 .body(body);
     }
 
     // --- helper ---
+    private static long fileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new org.springframework.web.server.ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+    }
+
     private String extractFilenameFromUrl(String fileUrl) {
         if (fileUrl == null) return null;
         try {
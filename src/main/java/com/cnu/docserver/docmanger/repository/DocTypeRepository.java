@@ -3,9 +3,14 @@ package com.cnu.docserver.docmanger.repository;
 import com.cnu.docserver.department.entity.Department;
 import com.cnu.docserver.docmanger.entity.DocType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface DocTypeRepository extends JpaRepository<DocType, Integer> {
     List<DocType> findByDepartment(Department department); // 부서별 서류 목록
+
+    // 전체 서류 + 양식 파일 (originalFile 은 mappedBy OneToOne 이라 따로 두면 서류마다 조회가 나간다)
+    @Query("select d from DocType d left join fetch d.originalFile order by d.docTypeId")
+    List<DocType> findAllWithOriginalFile();
 }
@@ -8,4 +8,6 @@ import java.util.List;
 
 public interface RequiredFieldRepository extends JpaRepository<RequiredField, Integer> {
     List<RequiredField> findByDocType(DocType docType);
+
+    List<RequiredField> findByDocType_DocTypeId(Integer docTypeId);
 }
\ No newline at end of file
@@ -0,0 +1,316 @@
+package com.cnu.docserver.docmanger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 이어 올리기(resumable) 업로드: 세션 생성 → 오프셋을 붙여 조각(chunk) PUT → 완료.
+ * <p>
+ * 조각은 uploads/.chunks/{id}.part 한 파일 끝에 순서대로 덧붙이고, 쓰는 동안 전체 SHA-256 을 이어서 계산한다.
+ * 그래서 완료 시 파일을 다시 읽거나 조각을 합치는 복사가 없고, 결과는 {@link StagedUploadService} 로 넘겨
+ * 기존 uploadToken 흐름(제출 생성/수정)을 그대로 탄다.
+ * 연결이 끊기면 클라이언트는 세션을 조회해 서버가 받은 오프셋부터 다시 보낸다.
+ */
+@Service
+@Slf4j
+public class ChunkedUploadService {
+
+    private final Path chunkDir = Paths.get("uploads", ".chunks");
+    private final ObjectMapper objectMapper;
+    private final StagedUploadService stagedUploadService;
+    private final long maxFileSize;
+    private final long maxChunkSize;
+    private final Duration ttl;
+
+    // 진행 중인 세션의 누적 다이제스트 (재기동 후 첫 요청에서는 .part 를 한 번 읽어 복구)
+    private final Map<String, Progress> inProgress = new ConcurrentHashMap<>();
+
+    private static final class Progress {
+        final ReentrantLock lock = new ReentrantLock();
+        MessageDigest digest;
+        volatile long offset;
+    }
+
+    public ChunkedUploadService(ObjectMapper objectMapper,
+                                StagedUploadService stagedUploadService,
+                                @Value("${upload.chunked.max-file-size:${spring.servlet.multipart.max-file-size:50MB}}") DataSize maxFileSize,
+                                @Value("${upload.chunked.max-chunk-size:8MB}") DataSize maxChunkSize,
+                                @Value("${upload.chunked.ttl:PT24H}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.stagedUploadService = stagedUploadService;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxChunkSize = maxChunkSize.toBytes();
+        this.ttl = ttl;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        // 완료 시 스테이징 영역으로 rename 하므로 uploads 와 같은 파일시스템에 둔다
+        Files.createDirectories(chunkDir);
+    }
+
+    /** 세션 생성. sha256 을 주면 완료 시 전체 파일과 비교한다. */
+    public Status open(String owner, String filename, long size, String sha256) {
+        if (size <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 크기가 필요합니다.");
+        }
+        if (size > maxFileSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "파일이 너무 큽니다. (최대 " + maxFileSize + " bytes)");
+        }
+        String expected = (sha256 == null || sha256.isBlank()) ? null : sha256.trim().toLowerCase();
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), owner,
+                FileStorageService.sanitizeFilename(filename), size, expected, Instant.now());
+        try {
+            Files.createFile(partPath(session.id()));
+            Path tmpMeta = chunkDir.resolve(session.id() + ".json.tmp");
+            objectMapper.writeValue(tmpMeta.toFile(), session);
+            Files.move(tmpMeta, metaPath(session.id()), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            discard(session.id());
+            throw new RuntimeException("업로드 세션 생성 실패: " + e.getMessage(), e);
+        }
+        Progress progress = new Progress();
+        progress.digest = newDigest();
+        inProgress.put(session.id(), progress);
+        log.info("📦 Chunked upload {} opened: {} ({} bytes)", session.id(), session.filename(), size);
+        return new Status(session, 0, maxChunkSize);
+    }
+
+    /** 세션 정보와 서버가 받은 바이트 수(다음 조각의 오프셋) */
+    public Status status(String uploadId, String owner) {
+        UploadSession session = load(uploadId, owner);
+        return new Status(session, progressOf(session).offset, maxChunkSize);
+    }
+
+    /**
+     * offset 위치에 조각을 쓴다. offset 은 지금까지 받은 바이트 수와 같아야 한다 (다르면 409 + 현재 오프셋).
+     * chunkSha256 을 주면 조각 내용을 검증하고, 어긋나면 이 조각은 없던 일로 되돌린다.
+     * @return 조각을 쓴 뒤의 오프셋
+     */
+    public long writeChunk(String uploadId, String owner, long offset, InputStream body, String chunkSha256) {
+        UploadSession session = load(uploadId, owner);
+        Progress progress = progressOf(session);
+        if (!progress.lock.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 업로드에 다른 조각을 쓰는 중입니다.");
+        }
+        try {
+            requireCurrent(session.id(), progress);
+            if (offset != progress.offset) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "오프셋이 맞지 않습니다. 현재 오프셋: " + progress.offset);
+            }
+            MessageDigest running = cloneDigest(progress.digest);
+            MessageDigest chunk = newDigest();
+            long written = 0;
+
+            try (FileChannel channel = FileChannel.open(partPath(session.id()), StandardOpenOption.WRITE)) {
+                channel.position(offset);
+                byte[] buf = new byte[64 * 1024];
+                int n;
+                try {
+                    while ((n = body.read(buf)) != -1) {
+                        written += n;
+                        if (written > maxChunkSize || offset + written > session.size()) {
+                            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "조각이 너무 크거나 파일 크기를 넘었습니다.");
+                        }
+                        ByteBuffer bb = ByteBuffer.wrap(buf, 0, n);
+                        while (bb.hasRemaining()) channel.write(bb);
+                        running.update(buf, 0, n);
+                        chunk.update(buf, 0, n);
+                    }
+                    if (chunkSha256 != null && !chunkSha256.isBlank()
+                            && !HexFormat.of().formatHex(chunk.digest()).equalsIgnoreCase(chunkSha256.trim())) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조각 SHA-256 이 일치하지 않습니다.");
+                    }
+                    channel.force(false);   // 응답한 오프셋까지는 재기동 후에도 남아 있어야 이어 올릴 수 있다
+                } catch (RuntimeException | IOException e) {
+                    channel.truncate(offset);   // 반쯤 쓴 조각 되돌리기
+                    throw e;
+                }
+            }
+
+            progress.digest = running;
+            progress.offset = offset + written;
+            return progress.offset;
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조각 수신 실패: " + e.getMessage(), e);
+        } finally {
+            progress.lock.unlock();
+        }
+    }
+
+    /** 모든 바이트를 받았으면 스테이징 영역으로 옮기고 업로드 토큰을 발급한다. */
+    public StagedUploadService.StagedUpload complete(String uploadId, String owner) {
+        UploadSession session = load(uploadId, owner);
+        Progress progress = progressOf(session);
+        progress.lock.lock();
+        try {
+            requireCurrent(session.id(), progress);   // 동시에 들어온 다른 complete/abort 가 이미 끝냈을 수 있다
+            if (progress.offset != session.size()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "아직 받지 못한 조각이 있습니다. (" + progress.offset + "/" + session.size() + " bytes)");
+            }
+            String sha256 = HexFormat.of().formatHex(cloneDigest(progress.digest).digest());
+            if (session.sha256() != null && !session.sha256().equals(sha256)) {
+                discard(session.id());
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 SHA-256 이 일치하지 않습니다. 처음부터 다시 올려 주세요.");
+            }
+            StagedUploadService.StagedUpload staged = stagedUploadService.stageAssembled(
+                    partPath(session.id()), session.filename(), owner, sha256, session.size());
+            discard(session.id());
+            log.info("✅ Chunked upload {} completed → staged {}", session.id(), staged.token());
+            return staged;
+        } finally {
+            progress.lock.unlock();
+        }
+    }
+
+    public void abort(String uploadId, String owner) {
+        UploadSession session = load(uploadId, owner);
+        Progress progress = inProgress.get(session.id());
+        if (progress == null) {
+            discard(session.id());
+            return;
+        }
+        // 쓰는 중인 조각/완료 처리가 끝난 뒤에 지운다 (그 뒤에 잠금을 잡은 요청은 requireCurrent 에서 404)
+        progress.lock.lock();
+        try {
+            discard(session.id());
+        } finally {
+            progress.lock.unlock();
+        }
+    }
+
+    /** 마지막 조각 이후 ttl 동안 움직임이 없는 세션 정리 */
+    @Scheduled(fixedDelayString = "${upload.chunked.gc-interval-ms:600000}", initialDelay = 120000)
+    public void purgeAbandoned() {
+        Instant cutoff = Instant.now().minus(ttl);
+        int removed = 0;
+        try (Stream<Path> files = Files.list(chunkDir)) {
+            for (Path p : files.filter(f -> f.getFileName().toString().endsWith(".part")).toList()) {
+                try {
+                    if (Files.getLastModifiedTime(p).toInstant().isBefore(cutoff)) {
+                        String name = p.getFileName().toString();
+                        discard(name.substring(0, name.length() - ".part".length()));
+                        removed++;
+                    }
+                } catch (IOException ignored) {}
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Chunked upload GC failed: {}", e.getMessage());
+        }
+        if (removed > 0) log.info("🧹 Removed {} abandoned chunked upload(s)", removed);
+    }
+
+    private UploadSession load(String uploadId, String owner) {
+        String id;
+        try {
+            id = UUID.fromString(uploadId == null ? "" : uploadId.trim()).toString();   // 경로 조작 차단
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+        UploadSession session;
+        try {
+            session = objectMapper.readValue(metaPath(id).toFile(), UploadSession.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+        if (!session.owner().equals(owner)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본인의 업로드만 이어 올릴 수 있습니다.");
+        }
+        return session;
+    }
+
+    // 잠금을 기다리는 사이 세션이 완료/취소되어 .part 가 옮겨졌거나 지워졌으면 404
+    private void requireCurrent(String id, Progress progress) {
+        if (inProgress.get(id) != progress || !Files.exists(partPath(id))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+    }
+
+    // 메모리에 없으면(재기동) 지금까지 받은 부분을 한 번 읽어 다이제스트를 복구
+    private Progress progressOf(UploadSession session) {
+        return inProgress.computeIfAbsent(session.id(), id -> {
+            Progress p = new Progress();
+            p.digest = newDigest();
+            try (InputStream in = Files.newInputStream(partPath(id))) {
+                byte[] buf = new byte[64 * 1024];
+                int n;
+                while ((n = in.read(buf)) != -1) {
+                    p.digest.update(buf, 0, n);
+                    p.offset += n;
+                }
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+            }
+            return p;
+        });
+    }
+
+    // 파일을 먼저 지우고 진행 상태를 뺀다: 그 사이 progressOf 가 지워지는 .part 로 새 진행 상태를 만들지 않게
+    private void discard(String id) {
+        try {
+            Files.deleteIfExists(metaPath(id));
+            Files.deleteIfExists(partPath(id));
+        } catch (IOException ignored) {
+        } finally {
+            inProgress.remove(id);
+        }
+    }
+
+    private Path partPath(String id) {
+        return chunkDir.resolve(id + ".part");
+    }
+
+    private Path metaPath(String id) {
+        return chunkDir.resolve(id + ".json");
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 업로드 세션 메타데이터 ({id}.json 내용). sha256 은 클라이언트가 알려 준 전체 파일 해시(선택) */
+    public record UploadSession(String id, String owner, String filename, long size, String sha256, Instant createdAt) {}
+
+    /** 세션 조회 결과 */
+    public record Status(UploadSession session, long offset, long maxChunkSize) {}
+}
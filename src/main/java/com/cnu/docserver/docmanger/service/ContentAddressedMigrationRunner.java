@@ -0,0 +1,41 @@
+package com.cnu.docserver.docmanger.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 일회성 이관: uploads/submissions, uploads/doctype 아래 기존 파일을 blob + 하드 링크로 바꾼다.
+ * URL 경로는 그대로이므로 DB 는 건드리지 않고, 이미 링크된 파일은 건너뛰어 여러 번 실행해도 된다.
+ * <pre>
+ *   java -jar docserver.jar --file.storage.content-addressed=true --file.storage.cas-migrate=true
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.cas-migrate", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ContentAddressedMigrationRunner implements ApplicationRunner {
+
+    private final ContentAddressedStore contentStore;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!contentStore.enabled()) {
+            log.warn("⚠️ file.storage.cas-migrate=true but content-addressed storage is off. Skipping migration.");
+            return;
+        }
+        Path uploads = Paths.get("uploads");
+        log.info("🚚 Content-addressed storage migration started");
+        long[] result = contentStore.migrate(List.of(uploads.resolve("submissions"), uploads.resolve("doctype")));
+        log.info("✅ Content-addressed storage migration finished: {} file(s) linked, {} bytes deduplicated",
+                result[0], result[1]);
+    }
+}
@@ -0,0 +1,192 @@
+package com.cnu.docserver.docmanger.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 내용 주소(content-addressed) 저장소.
+ * <p>
+ * 파일 내용은 uploads/blobs/ab/cd/{sha256} 에 한 번만 저장하고, 기존 URL 경로(uploads/submissions/{id}/{name} 등)는
+ * 그 blob 의 하드 링크로 만든다. 하드 링크 수(unix:nlink)가 곧 참조 수이므로 별도 테이블 없이
+ * 마지막 참조가 지워질 때 blob 도 지운다. 같은 템플릿/재제출 파일은 디스크에 한 벌만 남는다.
+ * <p>
+ * 같은 blob 을 두고 place(중복 → 링크)와 release/정리(마지막 참조 → blob 삭제)가 겹치면 링크하려던 blob 이
+ * 지워질 수 있으므로, 해시별 줄무늬(striped) 잠금으로 한 blob 에 대한 "링크 수 확인 + 링크/삭제"를 한 덩어리로 묶는다.
+ * (한 프로세스 안에서만 유효하다. uploads 를 여러 인스턴스가 공유하면 안 된다.)
+ * <p>
+ * POSIX 파일시스템에서만 동작하며, 꺼져 있거나 지원되지 않으면 FileStorageService 는 예전처럼 파일을 그대로 둔다.
+ */
+@Component
+@Slf4j
+public class ContentAddressedStore {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path blobDir = Paths.get("uploads", "blobs");
+    private final boolean enabled;
+    private final Duration sweepGrace;
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+
+    public ContentAddressedStore(@Value("${file.storage.content-addressed:false}") boolean enabled,
+                                 @Value("${file.storage.blob-sweep-grace:PT1H}") Duration sweepGrace) {
+        boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("unix");
+        if (enabled && !posix) {
+            log.warn("⚠️ Content-addressed storage requested but the filesystem has no hard-link counts. Using plain files.");
+        }
+        this.enabled = enabled && posix;
+        this.sweepGrace = sweepGrace;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 임시 파일을 blob 으로 넣고(이미 있으면 버림) target 을 그 blob 의 하드 링크로 원자적으로 교체한다.
+     */
+    public void place(Path tmp, String sha256, Path target) throws IOException {
+        Path blob = blobPath(sha256);
+        Files.createDirectories(blob.getParent());
+        Path link = target.resolveSibling(".link-" + UUID.randomUUID() + ".tmp");
+
+        // blob 을 넣고 링크를 걸 때까지 같은 해시의 release/정리가 끼어들지 못하게 한다
+        ReentrantLock lock = stripe(sha256);
+        lock.lock();
+        try {
+            try {
+                Files.move(tmp, blob);                   // 같은 파일시스템이면 rename
+            } catch (FileAlreadyExistsException e) {
+                Files.deleteIfExists(tmp);               // 같은 내용이 이미 있음 → 중복 저장 안 함
+            }
+            Files.createLink(link, blob);
+        } finally {
+            lock.unlock();
+        }
+
+        // 여기부터는 link 가 blob 을 참조하고 있으므로 잠금 없이 교체해도 blob 이 지워지지 않는다
+        try {
+            Files.move(link, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(link);
+        }
+    }
+
+    /**
+     * 참조(하드 링크)를 지운다. 마지막 참조였다면 blob 도 지운다.
+     * @param sha256 저장 시 기록한 내용 해시(content_sha256). 없으면(예전 행) 파일을 읽어 구한다.
+     */
+    public void release(Path reference, String sha256) throws IOException {
+        if (!Files.isRegularFile(reference)) return;
+        if (sha256 == null) {
+            if (linkCount(reference) == 1) {            // blob 에 연결되지 않은 예전 파일
+                Files.deleteIfExists(reference);
+                return;
+            }
+            sha256 = FileStorageService.sha256(reference);
+        }
+
+        Path blob = blobPath(sha256);
+        ReentrantLock lock = stripe(sha256);
+        lock.lock();
+        try {
+            Files.deleteIfExists(reference);
+            if (Files.exists(blob) && linkCount(blob) == 1) {   // 방금 지운 것이 마지막 참조
+                Files.deleteIfExists(blob);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 참조가 하나도 남지 않은 blob 정리 (같은 이름으로 덮어써진 참조, 중간에 죽은 업로드 등).
+     * 링크 수 확인과 삭제는 place 와 같은 해시 잠금 안에서 하므로, 링크가 걸리기 직전의 blob 을 지우지 않는다.
+     * grace 기간은 이관 도중처럼 잠금 밖에서 다루는 파일을 위한 여유일 뿐이다.
+     */
+    @Scheduled(fixedDelayString = "${file.storage.blob-sweep-interval-ms:3600000}", initialDelay = 600000)
+    public void sweepUnreferenced() {
+        if (!enabled || !Files.isDirectory(blobDir)) return;
+        Instant cutoff = Instant.now().minus(sweepGrace);
+        int removed = 0;
+        try (Stream<Path> blobs = Files.walk(blobDir, 3)) {
+            for (Path blob : blobs.filter(Files::isRegularFile).toList()) {
+                if (linkCount(blob) != 1 || !Files.getLastModifiedTime(blob).toInstant().isBefore(cutoff)) continue;
+                ReentrantLock lock = stripe(blob.getFileName().toString());
+                lock.lock();
+                try {
+                    if (Files.exists(blob) && linkCount(blob) == 1) {   // 잠금을 잡는 사이 링크됐을 수 있음
+                        Files.deleteIfExists(blob);
+                        removed++;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Blob sweep failed: {}", e.getMessage());
+        }
+        if (removed > 0) log.info("🧹 Removed {} unreferenced blob(s)", removed);
+    }
+
+    /**
+     * 기존 파일을 blob + 하드 링크로 바꾼다. 이미 링크된 파일은 건너뛴다.
+     * @return {처리한 파일 수, 중복이라 절약한 바이트}
+     */
+    public long[] migrate(List<Path> roots) throws IOException {
+        long files = 0;
+        long savedBytes = 0;
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) continue;
+            List<Path> candidates;
+            try (Stream<Path> walk = Files.walk(root)) {
+                candidates = walk.filter(Files::isRegularFile)
+                        .filter(p -> !p.getFileName().toString().startsWith("."))
+                        .toList();
+            }
+            for (Path file : candidates) {
+                if (linkCount(file) > 1) continue;      // 이미 blob 참조
+                String sha256 = FileStorageService.sha256(file);
+                long size = Files.size(file);
+                boolean duplicate = Files.exists(blobPath(sha256));
+
+                Path tmp = file.resolveSibling(".migrate-" + UUID.randomUUID() + ".tmp");
+                Files.createLink(tmp, file);            // 원본을 잠시 두 번 가리켜 교체 중에도 파일이 사라지지 않게
+                place(tmp, sha256, file);
+                files++;
+                if (duplicate) savedBytes += size;
+            }
+        }
+        return new long[]{files, savedBytes};
+    }
+
+    private ReentrantLock stripe(String sha256) {
+        return stripes[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+
+    private Path blobPath(String sha256) {
+        return blobDir.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static int linkCount(Path path) throws IOException {
+        return (Integer) Files.getAttribute(path, "unix:nlink");
+    }
+}
@@ -1,5 +1,6 @@
 package com.cnu.docserver.docmanger.service;
 
+import com.cnu.docserver.common.cache.CatalogCache;
 import com.cnu.docserver.docmanger.dto.DocTypeEditResponseDTO;
 import com.cnu.docserver.docmanger.dto.DocTypeResponseDTO;
 import com.cnu.docserver.department.entity.Department;
@@ -18,6 +19,7 @@ import jakarta.transaction.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,6 +32,7 @@ public class DocTypeService {
     private final RequiredFieldRepository requiredFieldRepository;
     private final OriginalFileRepository originalFileRepository;
     private final FileStorageService fileStorageService;
+    private final CatalogCache catalogCache;
 
     //서류 등록
     @Transactional
@@ -55,6 +58,7 @@ public class DocTypeService {
         if (file != null && !file.isEmpty()) {
             upsertFile(docType, file);
         }
+        catalogCache.invalidate(docType.getDocTypeId());
         return docType;
     }
 
@@ -80,6 +84,9 @@ public class DocTypeService {
 
         // 3. 필수 항목 업데이트
         syncRequiredFields(docType, requiredFields, exampleValues);
+
+        // 제목/필수 항목이 바뀌었으니 제출 경로 캐시 비우기
+        catalogCache.invalidate(docTypeId);
     }
 
 
@@ -157,12 +164,12 @@ public class DocTypeService {
         return originalFileRepository.findByDocType(docType);
     }
 
-    /** 저장소에서 파일 바이트 읽기 */
-    public byte[] readBytes(String fileUrl) {
+    /** 저장소의 파일 경로 (응답에서 그대로 스트리밍, 메모리에 통째로 올리지 않음) */
+    public Path resolveFile(String fileUrl) {
         if (fileUrl == null || fileUrl.isBlank()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "파일 URL이 없습니다.");
         }
-        return fileStorageService.readBytes(fileUrl);
+        return fileStorageService.resolveReadable(fileUrl);
     }
 
 
@@ -227,12 +234,15 @@ public class DocTypeService {
     // 파일 upsert: 기존은 UPDATE, 없으면 INSERT (항상 1개 유지 + UNIQUE 충돌 방지)
     private void upsertFile(DocType docType, MultipartFile file) {
         // 1) 새 파일을 먼저 디스크에 저장 (경로 확보)
-        String newUrl = fileStorageService.save(docType.getDocTypeId(), file);
+        FileStorageService.StoredFile stored = fileStorageService.save(docType.getDocTypeId(), file);
+        String newUrl = stored.url();
 
         try {
             originalFileRepository.findByDocType(docType).ifPresentOrElse(old -> {
-                // 2-a) 기존 물리 파일 삭제하고, DB는 UPDATE만 수행
-                fileStorageService.deleteByUrl(old.getFileUrl());
+                // 2-a) 기존 물리 파일 삭제하고, DB는 UPDATE만 수행 (같은 이름이면 방금 저장한 파일이므로 두기)
+                if (!newUrl.equals(old.getFileUrl())) {
+                    fileStorageService.deleteByUrl(old.getFileUrl());
+                }
                 old.setFileUrl(newUrl);          // UPDATE
                 // old.setUploadedAt(LocalDateTime.now()); // 필드 있다면 갱신
                 originalFileRepository.save(old);
@@ -247,7 +257,7 @@ public class DocTypeService {
             });
         } catch (RuntimeException ex) {
             // DB 실패 시 방금 저장한 새 물리 파일 롤백 삭제 (고아 파일 방지)
-            fileStorageService.deleteByUrl(newUrl);
+            fileStorageService.deleteByUrl(newUrl, stored.sha256());
             throw ex;
         }
     }
@@ -1,53 +1,186 @@
 package com.cnu.docserver.docmanger.service;
 
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Optional;
+import java.util.UUID;
+
 @Service
 public class FileStorageService {
 
     private final Path uploadDir = Paths.get("uploads");
+    private final ContentAddressedStore contentStore;
+    private final long multipartMemoryThreshold;
+
+    public FileStorageService(ContentAddressedStore contentStore,
+                              @Value("${spring.servlet.multipart.file-size-threshold:0B}") DataSize multipartMemoryThreshold) {
+        this.contentStore = contentStore;
+        this.multipartMemoryThreshold = multipartMemoryThreshold.toBytes();
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        // spring.servlet.multipart.location 과 같은 경로: 업로드 임시 파일이 uploads 와 같은 파일시스템에 있어야 rename 으로 옮겨진다.
+        Files.createDirectories(multipartTempDir());
+    }
 
     // 문서유형 파일 (기존)
-    public String save(Integer docTypeId, MultipartFile file) {
+    public StoredFile save(Integer docTypeId, MultipartFile file) {
         return saveInto(uploadDir.resolve("doctype").resolve(String.valueOf(docTypeId)), "/uploads/doctype/" + docTypeId + "/", file);
     }
 
-    // 제출 파일 (신규)
-    public String saveSubmission(Integer submissionId, MultipartFile file) {
-        return saveInto(uploadDir.resolve("submissions").resolve(String.valueOf(submissionId)), "/uploads/submissions/" + submissionId + "/", file);
+    // 제출 파일: 스테이징된 파일(2단계 업로드)을 하드 링크로 건다. 이미 해시/크기를 알고 있으므로 다시 읽지 않는다.
+    // 스테이징 원본은 트랜잭션이 커밋될 때까지 남겨 두어야 롤백 시 같은 토큰으로 다시 제출할 수 있다 (StagedUploadService.claim)
+    // 같은 이름의 파일이 이미 있으면(재제출) 덮어쓰지 않고 새 경로에 둔다: 기존 파일은 커밋 후에 호출자가 지운다
+    public StoredFile saveSubmission(Integer submissionId, StagedUploadService.ClaimedUpload claimed) {
+        Path dir = uploadDir.resolve("submissions").resolve(String.valueOf(submissionId));
+        StagedUploadService.StagedUpload meta = claimed.upload();
+        Path tmp = null;
+        try {
+            Files.createDirectories(dir);
+            tmp = dir.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+            try {
+                Files.createLink(tmp, claimed.file());
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                Files.copy(claimed.file(), tmp);        // 하드 링크를 못 만드는 파일시스템
+            }
+            return placeAt(dir, "/uploads/submissions/" + submissionId + "/", meta.filename(),
+                    tmp, meta.sha256(), meta.size(), true);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 저장 실패: " + e.getMessage(), e);
+        } finally {
+            if (tmp != null) {
+                try { Files.deleteIfExists(tmp); } catch (IOException ignored) {}
+            }
+        }
     }
 
     // 공통 내부 로직
-    private String saveInto(Path dir, String urlPrefix, MultipartFile file) {
+    // 멀티파트 파일을 같은 디렉터리의 임시 이름으로 받으면서 SHA-256 을 구하고(transferWithDigest),
+    // 최종 이름으로 원자적으로 바꾼다.
+    private StoredFile saveInto(Path dir, String urlPrefix, MultipartFile file) {
+        Path tmp = null;
         try {
             Files.createDirectories(dir);
 
-            String original = Optional.ofNullable(file.getOriginalFilename()).orElse("unknown");
-            original = original.replace("\\", "/");
-            original = original.substring(original.lastIndexOf('/') + 1);
-            if (original.isBlank()) original = "unknown";
-            if (original.length() > 255) original = original.substring(original.length() - 255);
-
-            Path target = dir.resolve(original).normalize();
-            if (!target.startsWith(dir)) throw new SecurityException("Invalid path");
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+            tmp = dir.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+            String sha256 = transferWithDigest(file, tmp, multipartMemoryThreshold);
 
-            String encoded = java.net.URLEncoder.encode(original, java.nio.charset.StandardCharsets.UTF_8)
-                    .replace("+", "%20");
-            return urlPrefix + encoded;
+            return placeAt(dir, urlPrefix, file.getOriginalFilename(), tmp, sha256, Files.size(tmp), false);
         } catch (IOException e) {
             throw new RuntimeException("파일 저장 실패: " + e.getMessage(), e);
+        } finally {
+            if (tmp != null) {
+                try { Files.deleteIfExists(tmp); } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    // tmp 를 dir/{정리된 파일명} 으로 원자적으로 옮긴다 (내용 주소 모드면 blob 의 하드 링크로)
+    // keepExisting 이면 같은 이름의 파일을 바꾸지 않고 dir/{임의 8자}/{정리된 파일명} 에 둔다 (파일명은 그대로)
+    private StoredFile placeAt(Path dir, String urlPrefix, String filename, Path tmp, String sha256, long size,
+                               boolean keepExisting) throws IOException {
+        String original = sanitizeFilename(filename);
+        Path target = dir.resolve(original).normalize();
+        if (!target.startsWith(dir)) throw new SecurityException("Invalid path");
+        if (keepExisting && Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            String fresh = UUID.randomUUID().toString().substring(0, 8);
+            target = Files.createDirectories(dir.resolve(fresh)).resolve(original);
+            urlPrefix = urlPrefix + fresh + "/";
+        }
+
+        if (contentStore.enabled()) {
+            // 내용이 같은 파일은 blob 하나를 공유하고 target 은 그 하드 링크가 된다
+            contentStore.place(tmp, sha256, target);
+        } else {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return new StoredFile(urlPrefix + encode(original), sha256, size);
+    }
+
+    static String sanitizeFilename(String filename) {
+        String original = Optional.ofNullable(filename).orElse("unknown");
+        original = original.replace("\\", "/");
+        original = original.substring(original.lastIndexOf('/') + 1);
+        if (original.isBlank()) original = "unknown";
+        if (original.length() > 255) original = original.substring(original.length() - 255);
+        return original;
+    }
+
+    static String encode(String filename) {
+        return java.net.URLEncoder.encode(filename, java.nio.charset.StandardCharsets.UTF_8)
+                .replace("+", "%20");
+    }
+
+    static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest md = newSha256();
+            byte[] buf = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                md.update(buf, 0, n);
+            }
+            return HexFormat.of().formatHex(md.digest());
         }
     }
 
+    /**
+     * 멀티파트 파일을 target 에 쓰고 내용의 SHA-256(hex) 을 돌려준다. 어느 경우든 본문은 한 번만 읽는다.
+     * <ul>
+     *   <li>메모리에 있는 작은 파일(memoryThreshold 이하): DigestInputStream 으로 쓰면서 해시 → 쓴 파일을 다시 읽지 않음</li>
+     *   <li>디스크 임시 파일: transferTo(File) 가 Part.write 로 rename 하므로(쓰기 없음) 옮긴 뒤 한 번 읽어 해시.
+     *       스트림으로 복사하면서 해시하면 읽기 1회 + 쓰기 1회가 되어 rename 보다 비싸다</li>
+     * </ul>
+     */
+    static String transferWithDigest(MultipartFile file, Path target, long memoryThreshold) throws IOException {
+        if (file.getSize() > memoryThreshold) {
+            file.transferTo(target.toAbsolutePath().toFile());
+            return sha256(target);
+        }
+        MessageDigest md = newSha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), md)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path multipartTempDir() {
+        return uploadDir.resolve(".multipart");
+    }
+
     public void deleteByUrl(String fileUrl) {
+        deleteByUrl(fileUrl, null);
+    }
+
+    /**
+     * 저장 파일 삭제. 내용 주소 모드면 마지막 참조일 때 blob 까지 지운다.
+     * @param sha256 저장 시 기록한 내용 해시 (없으면 null: 필요할 때만 파일을 읽어 구함)
+     */
+    public void deleteByUrl(String fileUrl, String sha256) {
         if (fileUrl == null || !fileUrl.startsWith("/uploads/")) return;
         try {
             String relative = java.net.URLDecoder.decode(
@@ -57,29 +190,31 @@ public class FileStorageService {
             Path target = uploadDir.resolve(relative).normalize();
             // uploads 폴더 밖이면 차단
             if (!target.startsWith(uploadDir)) return;
-            Files.deleteIfExists(target);
+            if (contentStore.enabled()) {
+                contentStore.release(target, sha256);   // 마지막 참조면 blob 까지 삭제
+            } else {
+                Files.deleteIfExists(target);
+            }
         } catch (IOException ignored) {}
     }
 
-    /** FastAPI 전송용: 저장 파일 바이트 */
-    public byte[] readBytes(String fileUrl) throws FileReadException {
+    /** 스트리밍 전송용(FastAPI 업로드, 다운로드 응답): 저장 파일 경로 (존재/읽기 가능 여부까지 확인) */
+    public Path resolveReadable(String fileUrl) throws FileReadException {
         if (fileUrl == null || !fileUrl.startsWith("/uploads/")) {
             throw new FileReadException("잘못된 파일 URL: " + fileUrl);
         }
-        try {
-            String relative = java.net.URLDecoder.decode(
-                    fileUrl.substring("/uploads/".length()),
-                    java.nio.charset.StandardCharsets.UTF_8
-            );
-            Path target = uploadDir.resolve(relative).normalize();
-            if (!target.startsWith(uploadDir)) {
-                throw new FileReadException("Invalid path traversal");
-            }
-            return Files.readAllBytes(target);
-        } catch (IOException e) {
-            // 구체적인 예외 메시지를 포함하여 새로운 사용자 정의 예외를 던짐
-            throw new FileReadException("파일 읽기 실패: " + e.getMessage(), e);
+        String relative = java.net.URLDecoder.decode(
+                fileUrl.substring("/uploads/".length()),
+                java.nio.charset.StandardCharsets.UTF_8
+        );
+        Path target = uploadDir.resolve(relative).normalize();
+        if (!target.startsWith(uploadDir)) {
+            throw new FileReadException("Invalid path traversal");
+        }
+        if (!Files.isRegularFile(target) || !Files.isReadable(target)) {
+            throw new FileReadException("파일 읽기 실패: " + target + " 파일이 없거나 읽을 수 없습니다.");
         }
+        return target;
     }
 
     /** FastAPI 전송용: 사용자 친화적 파일명 추출 */
@@ -93,6 +228,9 @@ public class FileStorageService {
             return enc;
         }
     }
+    /** 저장된 파일: URL + 내용 SHA-256(hex) + 바이트 수 */
+    public record StoredFile(String url, String sha256, long size) {}
+
     // 파일 읽기 오류를 위한 사용자 정의 예외
     public static class FileReadException extends RuntimeException {
         public FileReadException(String message) {
@@ -0,0 +1,237 @@
+package com.cnu.docserver.docmanger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 2단계 업로드의 1단계: 파일을 DB 트랜잭션 밖에서 uploads/.staging 에 받아 두고 토큰을 돌려준다.
+ * <p>
+ * 업로드 본문은 {token}.bin, 메타데이터(원본 이름/소유자/SHA-256/크기/만료 시각)는 {token}.json 으로 둔다.
+ * 제출 생성/수정은 토큰만 받아 {@link #claim} 으로 꺼낸 뒤 하드 링크 하나로 최종 위치에 걸어 두므로,
+ * DB 커넥션을 잡은 동안 느린 디스크/클라이언트 업로드를 기다리지 않는다.
+ * claim 한 트랜잭션이 커밋되면 스테이징 파일을 지우고, 롤백되면 토큰을 되살려 같은 토큰으로 다시 제출할 수 있다.
+ * 쓰이지 않은 채 만료된 파일은 백그라운드에서 지운다.
+ */
+@Service
+@Slf4j
+public class StagedUploadService {
+
+    private final Path stagingDir = Paths.get("uploads", ".staging");
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long multipartMemoryThreshold;
+
+    public StagedUploadService(ObjectMapper objectMapper,
+                               @Value("${upload.staging.ttl:PT1H}") Duration ttl,
+                               @Value("${spring.servlet.multipart.file-size-threshold:0B}") DataSize multipartMemoryThreshold) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.multipartMemoryThreshold = multipartMemoryThreshold.toBytes();
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        // uploads 와 같은 파일시스템이어야 최종 위치에 하드 링크로 걸 수 있다
+        Files.createDirectories(stagingDir);
+    }
+
+    /** 멀티파트 파일을 스테이징한다. (디스크에 있는 임시 파일이면 복사 없이 rename, 해시는 본문을 한 번만 읽어 구함) */
+    public StagedUpload stage(MultipartFile file, String owner) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일은 필수입니다.");
+        }
+        String token = UUID.randomUUID().toString();
+        Path data = dataPath(token);
+        try {
+            String sha256 = FileStorageService.transferWithDigest(file, data, multipartMemoryThreshold);
+            return register(token, data, file.getOriginalFilename(), owner, sha256, Files.size(data));
+        } catch (IOException e) {
+            deleteQuietly(token);
+            throw new RuntimeException("파일 저장 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 이미 만들어진 파일(예: 이어 올리기로 합친 파일)을 스테이징 영역으로 옮기고 토큰을 발급한다.
+     * sha256/size 는 호출자가 파일을 만들면서 계산한 값을 그대로 쓴다.
+     */
+    public StagedUpload stageAssembled(Path assembled, String filename, String owner, String sha256, long size) {
+        String token = UUID.randomUUID().toString();
+        Path data = dataPath(token);
+        try {
+            Files.move(assembled, data, StandardCopyOption.ATOMIC_MOVE);
+            return register(token, data, filename, owner, sha256, size);
+        } catch (IOException e) {
+            deleteQuietly(token);
+            throw new RuntimeException("파일 저장 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 토큰의 파일을 꺼낸다. 메타데이터는 {token}.json.claimed 로 바뀌므로 같은 토큰을 동시에 두 번 쓸 수 없다.
+     * 반환된 파일은 호출자가 최종 위치에 링크(또는 복사)해야 하며 옮기거나 지우면 안 된다.
+     * 트랜잭션 안이면 커밋 후 스테이징 파일을 지우고, 롤백되면 토큰을 다시 쓸 수 있게 되돌린다.
+     */
+    public ClaimedUpload claim(String token, String owner) {
+        String id = normalizeToken(token);
+        Path meta = metaPath(id);
+        StagedUpload staged;
+        try {
+            staged = objectMapper.readValue(meta.toFile(), StagedUpload.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "업로드 토큰이 없거나 만료되었습니다.");
+        }
+        if (!staged.owner().equals(owner)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본인이 올린 파일만 사용할 수 있습니다.");
+        }
+        if (staged.expiresAt().isBefore(Instant.now())) {
+            deleteQuietly(id);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "업로드 토큰이 없거나 만료되었습니다.");
+        }
+        Path claimed = claimedPath(id);
+        try {
+            Files.move(meta, claimed, StandardCopyOption.ATOMIC_MOVE);   // 동시에 같은 토큰으로 들어온 다른 요청은 여기서 실패
+            Files.setLastModifiedTime(claimed, FileTime.from(Instant.now()));   // GC 는 claim 시점부터 ttl 을 센다
+        } catch (NoSuchFileException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 사용된 업로드 토큰입니다.");
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 토큰 처리 실패: " + e.getMessage(), e);
+        }
+        settleAfterCompletion(id);
+        return new ClaimedUpload(dataPath(id), staged);
+    }
+
+    // 커밋: 최종 위치에 링크가 걸렸으니 스테이징 파일을 지운다 / 롤백: 메타데이터를 되돌려 토큰을 다시 쓸 수 있게 한다
+    private void settleAfterCompletion(String id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 트랜잭션 밖: 되돌릴 수 없으므로 바로 사용 처리 (남은 본문은 GC 가 정리)
+            try { Files.deleteIfExists(claimedPath(id)); } catch (IOException ignored) {}
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    deleteQuietly(id);
+                    return;
+                }
+                try {
+                    Files.move(claimedPath(id), metaPath(id), StandardCopyOption.ATOMIC_MOVE);
+                    log.debug("Restored staged upload {} after rollback", id);
+                } catch (IOException e) {
+                    log.warn("⚠️ Could not restore staged upload {} after rollback: {}", id, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /** 만료된 스테이징 파일 정리 (메타데이터가 없는 고아 파일도 ttl 이 지나면 삭제) */
+    @Scheduled(fixedDelayString = "${upload.staging.gc-interval-ms:300000}", initialDelay = 60000)
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        Instant orphanCutoff = now.minus(ttl);
+        int removed = 0;
+        try (Stream<Path> files = Files.list(stagingDir)) {
+            for (Path p : files.toList()) {
+                String name = p.getFileName().toString();
+                try {
+                    if (name.endsWith(".json")) {
+                        StagedUpload staged = objectMapper.readValue(p.toFile(), StagedUpload.class);
+                        if (staged.expiresAt().isBefore(now)) {
+                            deleteQuietly(staged.token());
+                            removed++;
+                        }
+                    } else if (Files.getLastModifiedTime(p).toInstant().isBefore(orphanCutoff)
+                            && (name.endsWith(".claimed") || !isTracked(tokenOf(name)))) {
+                        Files.deleteIfExists(p);
+                        removed++;
+                    }
+                } catch (IOException e) {
+                    log.debug("Skipping staging entry {}: {}", name, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Staging GC failed: {}", e.getMessage());
+        }
+        if (removed > 0) log.info("🧹 Removed {} expired staged upload(s)", removed);
+    }
+
+    private StagedUpload register(String token, Path data, String filename, String owner, String sha256, long size) throws IOException {
+        StagedUpload staged = new StagedUpload(token, FileStorageService.sanitizeFilename(filename), owner,
+                sha256, size, Instant.now().plus(ttl));
+        // 메타데이터를 마지막에 원자적으로 만들어야 claim 이 반쯤 쓰인 파일을 보지 않는다
+        Path tmpMeta = stagingDir.resolve(token + ".json.tmp");
+        objectMapper.writeValue(tmpMeta.toFile(), staged);
+        Files.move(tmpMeta, metaPath(token), StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Staged upload {} ({} bytes) for {}", token, size, owner);
+        return staged;
+    }
+
+    private static String normalizeToken(String token) {
+        try {
+            return UUID.fromString(token == null ? "" : token.trim()).toString();   // 경로 조작 차단
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 업로드 토큰입니다.");
+        }
+    }
+
+    // "{token}.bin", "{token}.json.tmp" → "{token}"
+    private static String tokenOf(String filename) {
+        int dot = filename.indexOf('.');
+        return dot < 0 ? filename : filename.substring(0, dot);
+    }
+
+    private Path dataPath(String token) {
+        return stagingDir.resolve(token + ".bin");
+    }
+
+    private Path metaPath(String token) {
+        return stagingDir.resolve(token + ".json");
+    }
+
+    // claim 된 뒤 트랜잭션 결과를 기다리는 동안의 메타데이터
+    private Path claimedPath(String token) {
+        return stagingDir.resolve(token + ".json.claimed");
+    }
+
+    // 메타데이터가 있거나(대기 중) claim 중인 본문은 오래됐어도 지우지 않는다
+    private boolean isTracked(String token) {
+        return Files.exists(metaPath(token)) || Files.exists(claimedPath(token));
+    }
+
+    private void deleteQuietly(String token) {
+        try {
+            Files.deleteIfExists(metaPath(token));
+            Files.deleteIfExists(claimedPath(token));
+            Files.deleteIfExists(dataPath(token));
+        } catch (IOException ignored) {}
+    }
+
+    /** 스테이징된 업로드 메타데이터 (응답 및 {token}.json 내용) */
+    public record StagedUpload(String token, String filename, String owner, String sha256, long size, Instant expiresAt) {}
+
+    /** claim 결과: 최종 위치에 링크할 스테이징 파일 + 메타데이터 */
+    public record ClaimedUpload(Path file, StagedUpload upload) {}
+}
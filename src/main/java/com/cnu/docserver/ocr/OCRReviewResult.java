@@ -11,7 +11,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
 @Entity
-@Table(name = "ocr_review_result")
+@Table(name = "ocr_review_result",
+        indexes = @Index(name = "idx_ocr_review_result_submission", columnList = "submission_id, created_at, id"))
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +23,7 @@ public class OCRReviewResult {
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "submission_id", nullable = false)
     private Submission submission;
 
     @Column(length = 32, nullable = false)
@@ -37,6 +39,9 @@ public class OCRReviewResult {
     @Column(columnDefinition = "TEXT")
     private String debugText;
 
+    @Column(name = "latency_ms")
+    private Long latencyMs;        // OCR 호출 시간 (캐시 적중이면 0)
+
     private LocalDateTime createdAt;
 
     @Transient
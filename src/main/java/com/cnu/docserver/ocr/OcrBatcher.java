@@ -0,0 +1,194 @@
+package com.cnu.docserver.ocr;
+
+import com.cnu.docserver.ocr.OcrClient.OcrBatchUnsupportedException;
+import com.cnu.docserver.ocr.OcrClient.OcrDeferredException;
+import com.cnu.docserver.ocr.OcrClient.OcrResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 동시에 들어온 OCR 검토 요청을 한 번의 배치 호출로 묶는다.
+ * <p>
+ * 배치가 비어 있을 때 들어온 스레드가 "리더"가 되어 max-size 만큼 모이거나 max-wait 이 지날 때까지 기다린 뒤
+ * 자기 스레드에서 배치를 보내고, 나머지 스레드(팔로워)는 자기 파일의 결과만 받아 간다.
+ * 별도 디스패처 스레드가 없으므로 동시 OCR 호출 수는 여전히 검토 실행기 워커 수를 넘지 않는다.
+ * <p>
+ * OCR 서버가 배치 엔드포인트를 모르면(404/405/501) reprobe-interval 동안 단건 호출로 대체한다.
+ * 그 밖의 이유로 배치가 실패하면(파일 하나가 거부됨, 응답 개수 불일치 등) 각 요청이 자기 스레드에서
+ * 단건으로 다시 호출해 한 파일의 실패가 같은 배치의 다른 파일로 번지지 않게 한다.
+ * 단, 보류(한도 초과/브레이커 OPEN)와 과부하(타임아웃/5xx)는 단건으로 다시 때리지 않고 그대로 전달한다.
+ */
+@Component
+@Slf4j
+public class OcrBatcher {
+
+    private final OcrClient ocrClient;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long maxWaitNanos;
+    private final long reprobeMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchFull = lock.newCondition();
+    private List<Pending> forming = new ArrayList<>();
+    private volatile long unsupportedUntil;   // 이 시각(ms)까지는 배치 미지원으로 보고 단건 호출
+
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+    private final Counter splits;
+
+    private record Pending(Path file, String filename, CompletableFuture<OcrResult> result) {}
+
+    // 배치 실패를 팔로워에게 알리는 표시: 받은 스레드는 자기 파일만 단건으로 다시 검토한다
+    private static class RetrySingly extends RuntimeException {
+        RetrySingly(Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+
+    public OcrBatcher(OcrClient ocrClient,
+                      MeterRegistry meterRegistry,
+                      @Value("${ocr.batch.enabled:true}") boolean enabled,
+                      @Value("${ocr.batch.max-size:${ocr.review.executor.max-size:8}}") int maxSize,
+                      @Value("${ocr.batch.max-wait:PT0.2S}") Duration maxWait,
+                      @Value("${ocr.batch.reprobe-interval:PT10M}") Duration reprobeInterval) {
+        this.ocrClient = ocrClient;
+        this.enabled = enabled;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.reprobeMs = reprobeInterval.toMillis();
+
+        this.batchSizes = DistributionSummary.builder("ocr.batch.size")
+                .description("한 번의 OCR 호출로 보낸 파일 수")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("ocr.batch.fallback").tag("reason", "unsupported")
+                .description("배치 호출을 단건 호출로 대체한 횟수")
+                .register(meterRegistry);
+        this.splits = Counter.builder("ocr.batch.fallback").tag("reason", "batch-error")
+                .description("배치 호출을 단건 호출로 대체한 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 파일 하나를 검토한다. 배치가 켜져 있으면 다른 요청과 묶여 전송될 수 있다.
+     * 예외는 {@link OcrClient#review(Path, String)} 와 같다.
+     */
+    public OcrResult review(Path file, String filename) {
+        if (!batchingActive()) {
+            return ocrClient.review(file, filename);
+        }
+
+        Pending me = new Pending(file, filename, new CompletableFuture<>());
+        List<Pending> batch = join(me);
+        if (batch != null) {
+            dispatch(batch);
+        }
+
+        try {
+            return me.result().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof OcrBatchUnsupportedException || cause instanceof RetrySingly) {
+                return ocrClient.review(file, filename);
+            }
+            if (cause instanceof RuntimeException re) throw re;
+            throw new OcrClient.OcrException("OCR 배치 호출 중 예상치 못한 오류 발생", cause);
+        }
+    }
+
+    /** OCR 호출 한 번에 실을 수 있는 파일 수 (워커가 작업을 얼마나 가져갈지 정할 때 사용) */
+    public int filesPerCall() {
+        return batchingActive() ? maxSize : 1;
+    }
+
+    private boolean batchingActive() {
+        return enabled && maxSize > 1 && System.currentTimeMillis() >= unsupportedUntil;
+    }
+
+    /**
+     * 현재 모으는 중인 배치에 합류한다.
+     * @return 이 스레드가 리더라면 보내야 할 배치, 팔로워라면 null
+     */
+    private List<Pending> join(Pending me) {
+        lock.lock();
+        try {
+            List<Pending> mine = forming;
+            mine.add(me);
+            if (mine.size() > 1) {
+                if (mine.size() >= maxSize) {
+                    forming = new ArrayList<>();   // 가득 찼으니 다음 요청부터는 새 배치
+                    batchFull.signalAll();
+                }
+                return null;
+            }
+
+            long remaining = maxWaitNanos;
+            while (forming == mine && remaining > 0) {
+                try {
+                    remaining = batchFull.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;                        // 기다리던 팔로워가 있으니 지금까지 모인 만큼은 보낸다
+                }
+            }
+            if (forming == mine) {
+                forming = new ArrayList<>();
+            }
+            return mine;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(List<Pending> batch) {
+        batchSizes.record(batch.size());
+
+        if (batch.size() == 1) {
+            Pending p = batch.get(0);
+            try {
+                p.result().complete(ocrClient.review(p.file(), p.filename()));
+            } catch (RuntimeException e) {
+                p.result().completeExceptionally(e);
+            }
+            return;
+        }
+
+        try {
+            List<OcrResult> results = ocrClient.reviewBatch(
+                    batch.stream().map(Pending::file).toList(),
+                    batch.stream().map(Pending::filename).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+            log.debug("OCR batch of {} file(s) reviewed", batch.size());
+        } catch (OcrBatchUnsupportedException e) {
+            unsupportedUntil = System.currentTimeMillis() + reprobeMs;
+            fallbacks.increment();
+            log.warn("⚠️ {}. Falling back to single OCR calls for {}ms", e.getMessage(), reprobeMs);
+            batch.forEach(p -> p.result().completeExceptionally(e));
+        } catch (RuntimeException e) {
+            if (e instanceof OcrDeferredException || OcrCallGuard.isOverloadFailure(e)) {
+                // 보류/과부하: 파일 수만큼 단건으로 다시 보내면 서버를 더 누르게 되므로 그대로 전달
+                batch.forEach(p -> p.result().completeExceptionally(e));
+                return;
+            }
+            splits.increment();
+            log.warn("⚠️ OCR batch of {} file(s) failed ({}). Retrying each file on its own", batch.size(), e.getMessage());
+            RetrySingly retry = new RetrySingly(e);
+            batch.forEach(p -> p.result().completeExceptionally(retry));
+        }
+    }
+}
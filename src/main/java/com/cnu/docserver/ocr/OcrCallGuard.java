@@ -0,0 +1,252 @@
+package com.cnu.docserver.ocr;
+
+import com.cnu.docserver.ocr.OcrClient.OcrDeferredException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * OCR 호출 보호막: 지연 시간 기반 적응형 동시성 제한(AIMD) + 서킷 브레이커.
+ * <ul>
+ *   <li>응답이 목표 지연 이내면 동시 호출 한도를 천천히 늘리고(+1/limit),
+ *       느리거나 타임아웃이면 한도를 곱으로 줄인다(x backoff-ratio).</li>
+ *   <li>최근 호출의 실패율이 임계치를 넘으면 OPEN → 일정 시간 즉시 거절 → HALF_OPEN 시험 호출.</li>
+ * </ul>
+ * 한도 초과/브레이커 OPEN 시 {@link OcrDeferredException}을 던져 검토를 "보류"시키고,
+ * 제출을 NEEDS_FIX로 바꾸지 않는다.
+ */
+@Component
+@Slf4j
+public class OcrCallGuard {
+
+    public enum BreakerState { CLOSED, HALF_OPEN, OPEN }
+
+    // --- 적응형 동시성 제한 ---
+    private final double minLimit;
+    private final double maxLimit;
+    private final long targetLatencyMs;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // --- 서킷 브레이커 ---
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenTrials;
+    private final boolean[] window;        // true = 실패
+    private int windowPos;
+    private int windowCount;
+    private int windowFailures;
+    private volatile BreakerState state = BreakerState.CLOSED;
+    private volatile long openedAt;
+    private int halfOpenInFlight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter shedByLimit;
+    private final Counter shedByBreaker;
+
+    public OcrCallGuard(
+            MeterRegistry meterRegistry,
+            @Value("${ocr.guard.limit.initial:4}") int initialLimit,
+            @Value("${ocr.guard.limit.min:1}") int minLimit,
+            @Value("${ocr.guard.limit.max:${ocr.review.executor.max-size:8}}") int maxLimit,
+            @Value("${ocr.guard.limit.target-latency:PT60S}") Duration targetLatency,
+            @Value("${ocr.guard.limit.backoff-ratio:0.8}") double backoffRatio,
+            @Value("${ocr.guard.breaker.window-size:20}") int windowSize,
+            @Value("${ocr.guard.breaker.minimum-calls:5}") int minimumCalls,
+            @Value("${ocr.guard.breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${ocr.guard.breaker.open-duration:PT60S}") Duration openDuration,
+            @Value("${ocr.guard.breaker.half-open-trials:1}") int halfOpenTrials
+    ) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.targetLatencyMs = targetLatency.toMillis();
+        this.backoffRatio = backoffRatio;
+
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDuration.toMillis();
+        this.halfOpenTrials = Math.max(1, halfOpenTrials);
+        this.window = new boolean[this.windowSize];
+
+        this.shedByLimit = Counter.builder("ocr.guard.shed").tag("reason", "limit")
+                .description("보호막에서 거절(보류)된 OCR 호출 수").register(meterRegistry);
+        this.shedByBreaker = Counter.builder("ocr.guard.shed").tag("reason", "breaker")
+                .description("보호막에서 거절(보류)된 OCR 호출 수").register(meterRegistry);
+        Gauge.builder("ocr.guard.limit", this, g -> g.limit)
+                .description("현재 OCR 동시 호출 한도").register(meterRegistry);
+        Gauge.builder("ocr.guard.inflight", inFlight, AtomicInteger::get)
+                .description("진행 중인 OCR 호출 수").register(meterRegistry);
+        Gauge.builder("ocr.guard.breaker.state", this, g -> g.state.ordinal())
+                .description("OCR 서킷 브레이커 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)").register(meterRegistry);
+    }
+
+    /**
+     * 보호막을 통과해 action 실행. 통과하지 못하면 {@link OcrDeferredException}.
+     */
+    public <T> T call(Supplier<T> action) {
+        boolean trial = acquireBreaker();
+        if (!tryAcquirePermit()) {
+            if (trial) releaseTrial();
+            shedByLimit.increment();
+            throw new OcrDeferredException("OCR 동시 호출 한도 초과(limit=" + (int) limit + ")");
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            T result = action.get();
+            long latency = System.currentTimeMillis() - start;
+            onLimiterSample(latency <= targetLatencyMs);
+            onBreakerOutcome(false, trial);
+            return result;
+        } catch (RuntimeException e) {
+            boolean overload = isOverloadFailure(e);
+            onLimiterSample(!overload);
+            onBreakerOutcome(overload, trial);
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /** 지금 새 호출을 받을 수 있는지 (워커가 작업을 가져갈지 판단할 때 사용) */
+    public int availablePermits() {
+        if (state == BreakerState.OPEN && System.currentTimeMillis() - openedAt < openDurationMs) return 0;
+        return Math.max(0, (int) limit - inFlight.get());
+    }
+
+    public BreakerState breakerState() {
+        return state;
+    }
+
+    // ───────────────────────── 동시성 제한 ─────────────────────────
+
+    private boolean tryAcquirePermit() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    private void onLimiterSample(boolean healthy) {
+        lock.lock();
+        try {
+            if (healthy) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            } else {
+                double before = limit;
+                limit = Math.max(minLimit, limit * backoffRatio);
+                log.warn("⚠️ OCR concurrency limit decreased {} -> {}", String.format("%.2f", before), String.format("%.2f", limit));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ───────────────────────── 서킷 브레이커 ─────────────────────────
+
+    /** @return HALF_OPEN 시험 호출이면 true */
+    private boolean acquireBreaker() {
+        lock.lock();
+        try {
+            if (state == BreakerState.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                    shedByBreaker.increment();
+                    throw new OcrDeferredException("OCR 서킷 브레이커 OPEN");
+                }
+                state = BreakerState.HALF_OPEN;
+                halfOpenInFlight = 0;
+                log.info("🔌 OCR circuit breaker HALF_OPEN");
+            }
+            if (state == BreakerState.HALF_OPEN) {
+                if (halfOpenInFlight >= halfOpenTrials) {
+                    shedByBreaker.increment();
+                    throw new OcrDeferredException("OCR 서킷 브레이커 시험 호출 중");
+                }
+                halfOpenInFlight++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseTrial() {
+        lock.lock();
+        try {
+            if (halfOpenInFlight > 0) halfOpenInFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onBreakerOutcome(boolean failure, boolean trial) {
+        lock.lock();
+        try {
+            if (trial) {
+                halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+                if (failure) {
+                    open();
+                } else {
+                    resetWindow();
+                    state = BreakerState.CLOSED;
+                    log.info("🔌 OCR circuit breaker CLOSED");
+                }
+                return;
+            }
+            if (state != BreakerState.CLOSED) return;
+
+            if (windowCount == windowSize && window[windowPos]) windowFailures--;
+            window[windowPos] = failure;
+            if (failure) windowFailures++;
+            windowPos = (windowPos + 1) % windowSize;
+            windowCount = Math.min(windowSize, windowCount + 1);
+
+            if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                open();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        state = BreakerState.OPEN;
+        openedAt = System.currentTimeMillis();
+        resetWindow();
+        log.error("🔌 OCR circuit breaker OPEN for {}ms", openDurationMs);
+    }
+
+    private void resetWindow() {
+        windowPos = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        Arrays.fill(window, false);
+    }
+
+    /** 타임아웃/연결 실패/5xx 만 과부하로 본다 (4xx 등은 서버가 정상 응답한 것) */
+    static boolean isOverloadFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ResourceAccessException || t instanceof HttpServerErrorException) return true;
+        }
+        return false;
+    }
+}
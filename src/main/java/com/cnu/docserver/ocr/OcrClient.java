@@ -5,13 +5,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.HttpMessageConverterExtractor;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.ResourceAccessException; // Import 추가
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -19,52 +20,104 @@ import java.util.Map;
 public class OcrClient {
 
     private final RestTemplate ocrRestTemplate;
+    private final OcrCallGuard callGuard;
 
-    public OcrClient(@Qualifier("ocrRestTemplate") RestTemplate ocrRestTemplate) {
+    public OcrClient(@Qualifier("ocrRestTemplate") RestTemplate ocrRestTemplate, OcrCallGuard callGuard) {
         this.ocrRestTemplate = ocrRestTemplate;
+        this.callGuard = callGuard;
     }
 
     @Value("${ocr.base-url:http://localhost:8000}")
     private String baseUrl;
 
     /**
-     * OCR 서비스에 파일을 보내 검토를 요청하고 결과를 반환합니다.
-     * @param fileBytes 검토할 파일의 바이트 배열
+     * 저장된 파일을 디스크에서 바로 스트리밍해 검토를 요청합니다.
+     * 파일 전체를 메모리에 올리지 않으므로 20~50MB 스캔본도 요청당 힙 사용량이 일정합니다.
+     * @param file 검토할 파일 경로
      * @param filename 파일명
      * @return OCR 검토 결과
      * @throws OcrException OCR 서버 통신 중 오류 발생 시
+     * @throws OcrDeferredException 동시 호출 한도 초과/서킷 브레이커 OPEN으로 호출하지 않은 경우
      */
-    public OcrResult review(byte[] fileBytes, String filename) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            var body = new LinkedMultiValueMap<String, Object>();
+    public OcrResult review(Path file, String filename) {
+        return callGuard.call(() -> doReview(file, filename));
+    }
 
-            // 파일 파트 헤더는 body.add() 시 자동으로 생성되므로 별도 필요 없음.
-            ByteArrayResource filePart = new ByteArrayResource(fileBytes) {
-                @Override public String getFilename() { return filename; }
-            };
-            body.add("file", filePart);
+    private OcrResult doReview(Path file, String filename) {
+        try {
+            StreamingMultipartBody body = new StreamingMultipartBody().addFile("file", filename, file);
 
-            var req = new HttpEntity<>(body, headers);
-            ResponseEntity<OcrResult> res =
-                    ocrRestTemplate.postForEntity(baseUrl + "/ocr/review", req, OcrResult.class);
+            OcrResult res = ocrRestTemplate.execute(
+                    baseUrl + "/ocr/review",
+                    HttpMethod.POST,
+                    body::writeTo,
+                    new HttpMessageConverterExtractor<>(OcrResult.class, ocrRestTemplate.getMessageConverters()));
 
-            if (res.getBody() == null) {
+            if (res == null) {
                 throw new OcrException("OCR 응답이 비어있습니다.");
             }
-            return res.getBody();
+            return res;
 
+        } catch (OcrException e) {
+            throw e;
         } catch (ResourceAccessException e) {
-            // 타임아웃, 연결 거부 등 네트워크 관련 예외를 별도로 처리
             throw new OcrException("OCR 서버 연결/응답 타임아웃 오류", e);
         } catch (Exception e) {
-            // 그 외 일반적인 오류 처리 (HTTP 상태 코드 오류 등)
             throw new OcrException("OCR 호출 중 예상치 못한 오류 발생", e);
         }
     }
 
+    /**
+     * 여러 파일을 한 번의 multipart 요청("files" 파트 여러 개)으로 검토합니다.
+     * OCR 서버는 POST /ocr/review/batch 에 {"results": [...]} 를 요청한 파일 순서대로 돌려줘야 합니다.
+     * @param files 검토할 파일 경로들
+     * @param filenames files 와 같은 순서의 파일명
+     * @return 파일별 OCR 검토 결과 (files 와 같은 순서)
+     * @throws OcrException OCR 서버 통신 중 오류 발생 시
+     * @throws OcrBatchUnsupportedException OCR 서버에 배치 엔드포인트가 없는 경우 (404/405/501)
+     * @throws OcrDeferredException 동시 호출 한도 초과/서킷 브레이커 OPEN으로 호출하지 않은 경우
+     */
+    public List<OcrResult> reviewBatch(List<Path> files, List<String> filenames) {
+        return callGuard.call(() -> doReviewBatch(files, filenames));
+    }
+
+    private List<OcrResult> doReviewBatch(List<Path> files, List<String> filenames) {
+        try {
+            StreamingMultipartBody body = new StreamingMultipartBody();
+            for (int i = 0; i < files.size(); i++) {
+                body.addFile("files", filenames.get(i), files.get(i));
+            }
+
+            OcrBatchResult res = ocrRestTemplate.execute(
+                    baseUrl + "/ocr/review/batch",
+                    HttpMethod.POST,
+                    body::writeTo,
+                    new HttpMessageConverterExtractor<>(OcrBatchResult.class, ocrRestTemplate.getMessageConverters()));
+
+            if (res == null || res.getResults() == null) {
+                throw new OcrException("OCR 배치 응답이 비어있습니다.");
+            }
+            if (res.getResults().size() != files.size()) {
+                throw new OcrException("OCR 배치 응답 개수 불일치: 요청 " + files.size() + "건, 응답 " + res.getResults().size() + "건");
+            }
+            return res.getResults();
+
+        } catch (OcrException e) {
+            throw e;
+        } catch (HttpStatusCodeException e) {
+            int status = e.getStatusCode().value();
+            if (status == 404 || status == 405 || status == 501) {
+                // 원인(cause)을 붙이지 않는다: 서버 과부하가 아니므로 보호막 실패율에 넣지 않음
+                throw new OcrBatchUnsupportedException("OCR 서버가 배치 검토를 지원하지 않습니다 (HTTP " + status + ")");
+            }
+            throw new OcrException("OCR 배치 호출 중 HTTP 오류 (" + status + ")", e);
+        } catch (ResourceAccessException e) {
+            throw new OcrException("OCR 서버 연결/응답 타임아웃 오류", e);
+        } catch (Exception e) {
+            throw new OcrException("OCR 배치 호출 중 예상치 못한 오류 발생", e);
+        }
+    }
+
     // OCR 호출 오류를 명확히 구분하기 위한 커스텀 예외 클래스
     public static class OcrException extends RuntimeException {
         public OcrException(String message, Throwable cause) {
@@ -75,6 +128,25 @@ public class OcrClient {
         }
     }
 
+    // OCR 서버를 보호하기 위해 호출 자체를 미룬 경우 (검토 실패가 아니라 "보류")
+    public static class OcrDeferredException extends RuntimeException {
+        public OcrDeferredException(String message) {
+            super(message);
+        }
+    }
+
+    // OCR 서버에 배치 엔드포인트가 없음 → 단건 호출로 대체해야 함
+    public static class OcrBatchUnsupportedException extends RuntimeException {
+        public OcrBatchUnsupportedException(String message) {
+            super(message);
+        }
+    }
+
+    @Data
+    public static class OcrBatchResult {
+        private List<OcrResult> results;
+    }
+
     @Data
     public static class OcrResult {
         private String verdict;
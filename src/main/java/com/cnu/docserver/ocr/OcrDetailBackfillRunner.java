@@ -0,0 +1,102 @@
+package com.cnu.docserver.ocr;
+
+import com.cnu.docserver.ocr.repository.OCRReviewResultRepository;
+import com.cnu.docserver.submission.entity.SubmissionHistory;
+import com.cnu.docserver.submission.repository.SubmissionHistoryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 일회성 이관: submission_histories 의 "OCR_DETAIL {json}" 메모를 ocr_review_result 행으로 옮기고 메모 행은 지운다.
+ * 옮긴 행을 지우므로 여러 번 실행해도 중복되지 않는다.
+ * <pre>
+ *   java -jar docserver.jar --ocr.backfill.enabled=true
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "ocr.backfill.enabled", havingValue = "true")
+@Slf4j
+public class OcrDetailBackfillRunner implements ApplicationRunner {
+
+    private static final String PREFIX = "OCR_DETAIL ";
+
+    private final SubmissionHistoryRepository historyRepo;
+    private final OCRReviewResultRepository resultRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+
+    public OcrDetailBackfillRunner(SubmissionHistoryRepository historyRepo,
+                                   OCRReviewResultRepository resultRepo,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager) {
+        this.historyRepo = historyRepo;
+        this.resultRepo = resultRepo;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("🚚 OCR_DETAIL memo backfill started");
+        int migrated = 0;
+        int skipped = 0;
+        int lastId = 0;
+
+        while (true) {
+            final int after = lastId;
+            int[] counts = tx.execute(status -> migrateChunk(after));
+            if (counts == null || counts[2] == 0) break;
+            migrated += counts[0];
+            skipped += counts[1];
+            lastId = counts[3];
+        }
+        log.info("✅ OCR_DETAIL memo backfill finished: {} migrated, {} unparseable (left in place)", migrated, skipped);
+    }
+
+    /** @return {이관 수, 파싱 실패 수, 읽은 행 수, 마지막 history id} */
+    private int[] migrateChunk(int afterId) {
+        List<SubmissionHistory> rows =
+                historyRepo.findTop500BySubmissionHistoryIdGreaterThanAndMemoStartingWithOrderBySubmissionHistoryIdAsc(afterId, PREFIX);
+        int migrated = 0;
+        int skipped = 0;
+        for (SubmissionHistory h : rows) {
+            try {
+                JsonNode root = objectMapper.readTree(h.getMemo().substring(PREFIX.length()).trim());
+                JsonNode findings = root.path("findings");
+                String verdict = text(root, "verdict");
+
+                OCRReviewResult result = OCRReviewResult.builder()
+                        .submission(h.getSubmission())
+                        .verdict(verdict == null || verdict.isBlank() ? "UNKNOWN" : verdict)
+                        .findingsJson(findings.isArray() ? findings.toString() : "[]")
+                        .reason(text(root, "reason"))
+                        .debugText(text(root, "debug_text"))
+                        .latencyMs(root.hasNonNull("latency") ? root.get("latency").asLong() : null)
+                        .createdAt(h.getChangedAt())
+                        .build();
+                resultRepo.save(result);
+                historyRepo.delete(h);
+                migrated++;
+            } catch (Exception e) {
+                log.warn("⚠️ Skipping unparseable OCR_DETAIL memo (history ID {}): {}", h.getSubmissionHistoryId(), e.getMessage());
+                skipped++;
+            }
+        }
+        int last = rows.isEmpty() ? afterId : rows.get(rows.size() - 1).getSubmissionHistoryId();
+        return new int[]{migrated, skipped, rows.size(), last};
+    }
+
+    private static String text(JsonNode root, String field) {
+        JsonNode n = root.get(field);
+        return (n == null || n.isNull()) ? null : n.asText();
+    }
+}
@@ -0,0 +1,154 @@
+package com.cnu.docserver.ocr;
+
+import com.cnu.docserver.common.cache.LruCache;
+import com.cnu.docserver.docmanger.service.FileStorageService;
+import com.cnu.docserver.ocr.OcrClient.OcrResult;
+import com.cnu.docserver.ocr.dto.Finding;
+import com.cnu.docserver.ocr.repository.OcrResultCacheRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 내용 해시(SHA-256) + 문서 유형 + OCR 모델 버전을 키로 하는 OCR 결과 캐시.
+ * 메모리 LRU → DB(ocr_result_cache) 순서로 찾고, 둘 다 없을 때만 OCR 서버를 호출한다.
+ */
+@Component
+@Slf4j
+public class OcrResultCache {
+
+    /** 확정 판정만 캐시 (응답 이상/오류는 다시 호출해야 함) */
+    private static final Set<String> CACHEABLE_VERDICTS = Set.of("PASS", "NEEDS_FIX", "REJECT");
+
+    private final OcrResultCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, OcrResultCacheEntry> memory;
+    private final String modelVersion;
+    private final boolean enabled;
+
+    private final Counter memoryHits;
+    private final Counter dbHits;
+    private final Counter misses;
+
+    public OcrResultCache(OcrResultCacheRepository repository,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${ocr.cache.enabled:true}") boolean enabled,
+                          @Value("${ocr.cache.memory-size:2000}") int memorySize,
+                          @Value("${ocr.model-version:v1}") String modelVersion) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.modelVersion = modelVersion;
+        this.memory = new LruCache<>(memorySize);
+
+        this.memoryHits = Counter.builder("ocr.result.cache").tag("result", "hit.memory")
+                .description("OCR 결과 캐시 조회 결과").register(meterRegistry);
+        this.dbHits = Counter.builder("ocr.result.cache").tag("result", "hit.db")
+                .description("OCR 결과 캐시 조회 결과").register(meterRegistry);
+        this.misses = Counter.builder("ocr.result.cache").tag("result", "miss")
+                .description("OCR 결과 캐시 조회 결과").register(meterRegistry);
+        Gauge.builder("ocr.result.cache.memory.size", memory, LruCache::size)
+                .description("메모리 LRU에 올라와 있는 OCR 결과 수").register(meterRegistry);
+    }
+
+    /** 파일을 스트림으로 읽어 SHA-256(hex) 계산 */
+    public String hash(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] buf = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                md.update(buf, 0, n);
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (IOException e) {
+            throw new FileStorageService.FileReadException("파일 해시 계산 실패: " + e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Optional<OcrResult> find(String contentHash, Integer docTypeId) {
+        if (!enabled || contentHash == null || docTypeId == null) return Optional.empty();
+        String key = key(contentHash, docTypeId);
+
+        Optional<OcrResultCacheEntry> hit = memory.get(key);
+        if (hit.isPresent()) {
+            memoryHits.increment();
+            return hit.map(this::toResult);
+        }
+        try {
+            Optional<OcrResultCacheEntry> stored =
+                    repository.findByContentHashAndDocTypeIdAndModelVersion(contentHash, docTypeId, modelVersion);
+            if (stored.isPresent()) {
+                dbHits.increment();
+                memory.put(key, stored.get());
+                return stored.map(this::toResult);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ OCR result cache lookup failed (hash={}): {}", contentHash, e.getMessage());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String contentHash, Integer docTypeId, OcrResult result) {
+        if (!enabled || contentHash == null || docTypeId == null || result == null) return;
+        String verdict = Optional.ofNullable(result.getVerdict()).orElse("").toUpperCase();
+        if (!CACHEABLE_VERDICTS.contains(verdict)) return;
+
+        try {
+            OcrResultCacheEntry entry = OcrResultCacheEntry.builder()
+                    .contentHash(contentHash)
+                    .docTypeId(docTypeId)
+                    .modelVersion(modelVersion)
+                    .verdict(verdict)
+                    .findingsJson(objectMapper.writeValueAsString(
+                            Optional.ofNullable(result.getFindings()).orElse(List.of())))
+                    .reason(result.getReason())
+                    .build();
+            repository.save(entry);
+            memory.put(key(contentHash, docTypeId), entry);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 워커/노드가 먼저 저장함 — 무시
+            log.debug("OCR result already cached (hash={}, docTypeId={})", contentHash, docTypeId);
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to cache OCR result (hash={}): {}", contentHash, e.getMessage());
+        }
+    }
+
+    private OcrResult toResult(OcrResultCacheEntry entry) {
+        OcrResult res = new OcrResult();
+        res.setVerdict(entry.getVerdict());
+        res.setReason(entry.getReason());
+        try {
+            res.setFindings(entry.getFindingsJson() == null ? List.of()
+                    : objectMapper.readValue(entry.getFindingsJson(), new TypeReference<List<Finding>>() {}));
+        } catch (Exception e) {
+            res.setFindings(List.of());
+        }
+        return res;
+    }
+
+    private String key(String contentHash, Integer docTypeId) {
+        return contentHash + ":" + docTypeId + ":" + modelVersion;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cnu.docserver.ocr;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 같은 파일(내용 해시) + 문서 유형 + OCR 모델 버전에 대한 검토 결과.
+ * 동일한 PDF 재업로드/빈 양식 제출 시 OCR 서버를 다시 호출하지 않기 위해 보관한다.
+ */
+@Entity
+@Table(name = "ocr_result_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ocr_result_cache_key", columnNames = {"content_hash", "doc_type_id", "model_version"})
+})
+@Getter @Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OcrResultCacheEntry {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;   // SHA-256 (hex)
+
+    @Column(name = "doc_type_id", nullable = false)
+    private Integer docTypeId;
+
+    @Column(name = "model_version", length = 64, nullable = false)
+    private String modelVersion;
+
+    @Column(length = 32, nullable = false)
+    private String verdict;       // PASS | NEEDS_FIX | REJECT
+
+    @Column(name = "findings_json", columnDefinition = "TEXT")
+    private String findingsJson;
+
+    @Column(columnDefinition = "TEXT")
+    private String reason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+    }
+}
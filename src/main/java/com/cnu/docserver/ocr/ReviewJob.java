@@ -0,0 +1,86 @@
+package com.cnu.docserver.ocr;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * OCR 검토 대기열(outbox) 한 건.
+ * 제출 상태를 BOT_REVIEW로 바꾸는 트랜잭션 안에서 함께 저장되므로 재기동해도 작업이 사라지지 않는다.
+ */
+@Entity
+@Table(name = "ocr_review_jobs", indexes = {
+        @Index(name = "idx_ocr_review_jobs_claim", columnList = "status, available_at, id"),
+        @Index(name = "idx_ocr_review_jobs_department", columnList = "status, department_id, due_date, id, available_at"),
+        @Index(name = "idx_ocr_review_jobs_lease", columnList = "status, lease_until"),
+        @Index(name = "idx_ocr_review_jobs_submission", columnList = "submission_id")
+})
+@Getter @Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ReviewJob {
+
+    /** 마감일 없음. NULL 대신 먼 날짜로 저장해 (due_date, id) 인덱스 순서만으로 학과 안에서 맨 뒤가 되게 한다 */
+    public static final LocalDate NO_DUE_DATE = LocalDate.of(9999, 12, 31);
+
+    public enum Status {
+        PENDING,  // 처리 대기
+        RUNNING,  // 워커가 임대(lease) 중
+        DONE,     // 처리 완료
+        FAILED    // 재시도 한도 초과
+    }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "submission_id", nullable = false)
+    private Integer submissionId;
+
+    @Column(name = "department_id", nullable = false)
+    private Integer departmentId;        // 학과별 공정 배분 단위 (문서 유형의 학과)
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;           // 문서 유형 마감일 (없으면 NO_DUE_DATE → 학과 안에서 맨 뒤)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;   // 이 시각 이후에만 가져감(재시도 backoff)
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;           // 작업을 가져간 노드
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;    // 이 시각이 지나도록 RUNNING이면 다시 PENDING으로
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) createdAt = now;
+        if (availableAt == null) availableAt = now;
+        if (status == null) status = Status.PENDING;
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    public void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,154 @@
+package com.cnu.docserver.ocr;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 학과(Department) 간 가중 공정 큐잉(WFQ)으로 이번에 가져갈 작업 수를 학과별로 나눈다.
+ * <p>
+ * 학과마다 가상 시간(virtual finish time)을 두고, 작업 하나를 보낼 때마다 1/weight 만큼 늘린다.
+ * 가장 작은 가상 시간을 가진 학과부터 배정하므로 큰 학과가 대기열을 채워도 다른 학과 몫이 보장되고,
+ * 오랫동안 비어 있다 들어온 학과는 현재 가상 시계에서 출발해 밀린 몫을 한꺼번에 가져가지 않는다.
+ * 학과 안에서는 마감일이 가까운 순서로 가져간다 ({@code ReviewJobRepository#lockPendingForDepartment}).
+ */
+@Component
+@Slf4j
+public class ReviewJobScheduler {
+
+    private final Map<Integer, Double> weights;
+    private final double defaultWeight;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Integer, Double> virtualFinish = new HashMap<>();
+    private double virtualClock;
+    private Set<Integer> backlogged = Set.of();   // 마지막 배정 때 대기 작업이 있던 학과
+
+    private final Map<Integer, AtomicLong> depths = new ConcurrentHashMap<>();
+    private final Map<Integer, Timer> waitTimers = new ConcurrentHashMap<>();
+
+    public ReviewJobScheduler(Environment environment,
+                              MeterRegistry meterRegistry,
+                              @Value("${ocr.review.scheduling.default-weight:1.0}") double defaultWeight) {
+        this.meterRegistry = meterRegistry;
+        this.defaultWeight = defaultWeight > 0 ? defaultWeight : 1.0;
+        // ocr.review.scheduling.weights.<departmentId>: <weight>
+        this.weights = Binder.get(environment)
+                .bind("ocr.review.scheduling.weights", Bindable.mapOf(Integer.class, Double.class))
+                .orElse(Map.of());
+        if (!weights.isEmpty()) {
+            log.info("OCR review scheduling weights by department: {} (default {})", weights, this.defaultWeight);
+        }
+    }
+
+    /**
+     * @param ready 학과별 지금 가져갈 수 있는 대기 작업 수
+     * @param limit 이번에 가져갈 최대 작업 수
+     * @return 학과별 배정 수 (배정 순서 유지)
+     */
+    public Map<Integer, Integer> allocate(Map<Integer, Long> ready, int limit) {
+        updateDepths(ready);
+
+        Map<Integer, Integer> plan = new LinkedHashMap<>();
+        if (limit <= 0 || ready.isEmpty()) return plan;
+
+        lock.lock();
+        try {
+            Map<Integer, Double> tags = new HashMap<>();
+            Map<Integer, Long> remaining = new HashMap<>();
+            ready.forEach((dept, count) -> {
+                if (count > 0) {
+                    tags.put(dept, Math.max(virtualFinish.getOrDefault(dept, 0.0), virtualClock));
+                    remaining.put(dept, count);
+                }
+            });
+            backlogged = Set.copyOf(remaining.keySet());
+
+            for (int i = 0; i < limit && !remaining.isEmpty(); i++) {
+                Integer next = null;
+                double best = Double.MAX_VALUE;
+                for (Integer dept : remaining.keySet()) {
+                    double finish = tags.get(dept) + 1.0 / weight(dept);
+                    if (finish < best || (finish == best && next != null && dept < next)) {
+                        best = finish;
+                        next = dept;
+                    }
+                }
+                tags.put(next, best);
+                plan.merge(next, 1, Integer::sum);
+                if (remaining.merge(next, -1L, Long::sum) <= 0) remaining.remove(next);
+            }
+            return plan;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 실제로 가져간 작업 수만큼 학과의 가상 시간을 진행시킨다 (SKIP LOCKED로 배정보다 적게 잡힐 수 있음).
+     */
+    public void charge(Map<Integer, Integer> claimed) {
+        if (claimed.isEmpty()) return;
+        lock.lock();
+        try {
+            for (Map.Entry<Integer, Integer> e : claimed.entrySet()) {
+                Integer dept = e.getKey();
+                double start = Math.max(virtualFinish.getOrDefault(dept, 0.0), virtualClock);
+                virtualFinish.put(dept, start + e.getValue() / weight(dept));
+            }
+            // 가상 시계 = 대기 작업이 있는 학과 중 가장 뒤처진 가상 시간.
+            // 새로 들어온 학과는 여기서 출발하므로 비어 있던 동안의 몫을 몰아 받지 않는다.
+            double min = Double.MAX_VALUE;
+            for (Integer dept : backlogged) {
+                min = Math.min(min, Math.max(virtualFinish.getOrDefault(dept, 0.0), virtualClock));
+            }
+            if (min != Double.MAX_VALUE) virtualClock = min;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 대기열에서 가져갈 수 있게 된 뒤 실제로 가져가기까지 걸린 시간 */
+    public void recordWait(Integer departmentId, Duration wait) {
+        if (wait.isNegative()) return;
+        waitTimers.computeIfAbsent(departmentId, dept -> Timer.builder("ocr.review.queue.wait")
+                        .tag("department", String.valueOf(dept))
+                        .description("OCR 검토 작업이 대기열에서 기다린 시간")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(wait);
+    }
+
+    private void updateDepths(Map<Integer, Long> ready) {
+        depths.forEach((dept, gauge) -> gauge.set(ready.getOrDefault(dept, 0L)));
+        ready.forEach((dept, count) -> depths.computeIfAbsent(dept, d -> {
+            AtomicLong gauge = new AtomicLong();
+            Gauge.builder("ocr.review.queue.depth", gauge, AtomicLong::get)
+                    .tag("department", String.valueOf(d))
+                    .description("학과별로 지금 가져갈 수 있는 OCR 검토 작업 수")
+                    .register(meterRegistry);
+            return gauge;
+        }).set(count));
+    }
+
+    private double weight(Integer departmentId) {
+        Double w = weights.get(departmentId);
+        return (w == null || w <= 0) ? defaultWeight : w;
+    }
+}
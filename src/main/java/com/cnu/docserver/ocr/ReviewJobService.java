@@ -0,0 +1,177 @@
+package com.cnu.docserver.ocr;
+
+import com.cnu.docserver.common.cache.CatalogCache;
+import com.cnu.docserver.ocr.repository.ReviewJobRepository;
+import com.cnu.docserver.submission.entity.Submission;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OCR 검토 대기열(ocr_review_jobs) 상태 전이를 담당.
+ * 각 메서드는 짧은 트랜잭션으로 끝나며, OCR 호출 자체는 트랜잭션 밖에서 실행된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewJobService {
+
+    private static final EnumSet<ReviewJob.Status> ACTIVE =
+            EnumSet.of(ReviewJob.Status.PENDING, ReviewJob.Status.RUNNING);
+
+    private final ReviewJobRepository jobRepo;
+    private final CatalogCache catalogCache;
+    private final ReviewJobScheduler scheduler;
+
+    @Value("${ocr.review.job.lease:PT15M}")
+    private Duration leaseDuration;          // OCR 읽기 타임아웃(600s)보다 길어야 함
+
+    @Value("${ocr.review.job.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${ocr.review.job.retention:P7D}")
+    private Duration retention;
+
+    /**
+     * 제출을 BOT_REVIEW로 바꾸는 트랜잭션 안에서 호출해야 한다(같이 커밋/롤백).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Submission submission) {
+        Integer submissionId = submission.getSubmissionId();
+        if (jobRepo.existsBySubmissionIdAndStatusIn(submissionId, ACTIVE)) {
+            log.debug("Review job already queued for submission ID {}", submissionId);
+            return;
+        }
+        // docType 은 프록시일 수 있으므로 ID만 꺼내 캐시에서 학과/마감일을 찾는다
+        Integer docTypeId = submission.getDocType().getDocTypeId();
+        CatalogCache.DocTypeInfo docType = catalogCache.docType(docTypeId)
+                .orElseThrow(() -> new IllegalStateException("Doc type not found: " + docTypeId));
+        jobRepo.save(ReviewJob.builder()
+                .submissionId(submissionId)
+                .departmentId(docType.departmentId())
+                .dueDate(catalogCache.deadline(docTypeId).orElse(ReviewJob.NO_DUE_DATE))
+                .status(ReviewJob.Status.PENDING)
+                .build());
+    }
+
+    /**
+     * 대기 중인 작업을 최대 limit개 잠그고 owner 노드 앞으로 임대한다.
+     * 학과별 몫은 ReviewJobScheduler(WFQ)가 정하고, 학과 안에서는 마감일이 가까운 순서로 가져간다.
+     */
+    @Transactional
+    public List<ReviewJob> claim(String owner, int limit) {
+        if (limit <= 0) return List.of();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(leaseDuration);
+
+        Map<Integer, Long> ready = new HashMap<>();
+        for (Object[] row : jobRepo.countReadyByDepartment(now, ReviewJob.Status.PENDING)) {
+            ready.put((Integer) row[0], (Long) row[1]);
+        }
+        Map<Integer, Integer> plan = scheduler.allocate(ready, limit);
+
+        List<ReviewJob> jobs = new ArrayList<>();
+        Map<Integer, Integer> claimed = new HashMap<>();
+        plan.forEach((departmentId, n) -> {
+            List<ReviewJob> locked = jobRepo.lockPendingForDepartment(departmentId, now, n);
+            if (!locked.isEmpty()) claimed.put(departmentId, locked.size());
+            jobs.addAll(locked);
+        });
+        scheduler.charge(claimed);
+
+        for (ReviewJob job : jobs) {
+            scheduler.recordWait(job.getDepartmentId(), Duration.between(job.getAvailableAt(), now));
+            job.setStatus(ReviewJob.Status.RUNNING);
+            job.setLeaseOwner(owner);
+            job.setLeaseUntil(until);
+            job.setAttempts(job.getAttempts() + 1);
+        }
+        return jobs;
+    }
+
+    /** 문서 유형 마감일이 바뀌었을 때 대기 중인 작업의 정렬 기준을 맞춘다. (null = 마감일 삭제) */
+    @Transactional
+    public int updateDueDate(Integer docTypeId, LocalDate dueDate) {
+        return jobRepo.updateDueDateForDocType(docTypeId, dueDate == null ? ReviewJob.NO_DUE_DATE : dueDate);
+    }
+
+    @Transactional
+    public void complete(Long jobId) {
+        jobRepo.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReviewJob.Status.DONE);
+            job.setLeaseOwner(null);
+            job.setLeaseUntil(null);
+            job.setLastError(null);
+        });
+    }
+
+    /**
+     * 실패한 작업을 지수 backoff 후 다시 대기시킨다. 한도를 넘으면 FAILED.
+     */
+    @Transactional
+    public void retryLater(Long jobId, String error) {
+        jobRepo.findById(jobId).ifPresent(job -> {
+            job.setLeaseOwner(null);
+            job.setLeaseUntil(null);
+            job.setLastError(truncate(error));
+            if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(ReviewJob.Status.FAILED);
+                log.error("❌ Review job {} (submission ID {}) failed after {} attempts: {}",
+                        jobId, job.getSubmissionId(), job.getAttempts(), error);
+                return;
+            }
+            long backoffSec = Math.min(30L << Math.min(job.getAttempts(), 6), 1800L);
+            job.setStatus(ReviewJob.Status.PENDING);
+            job.setAvailableAt(LocalDateTime.now().plusSeconds(backoffSec));
+        });
+    }
+
+    /**
+     * OCR 호출이 보류된 작업을 delay 후 다시 대기시킨다. 실패가 아니므로 시도 횟수에 넣지 않는다.
+     */
+    @Transactional
+    public void defer(Long jobId, Duration delay, String reason) {
+        jobRepo.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReviewJob.Status.PENDING);
+            job.setLeaseOwner(null);
+            job.setLeaseUntil(null);
+            job.setAttempts(Math.max(0, job.getAttempts() - 1));
+            job.setLastError(truncate(reason));
+            job.setAvailableAt(LocalDateTime.now().plus(delay));
+        });
+    }
+
+    /** 죽은 노드가 잡고 있던 작업을 다시 대기 상태로 돌린다. */
+    @Transactional
+    public int releaseExpiredLeases() {
+        return jobRepo.releaseExpiredLeases(LocalDateTime.now(), ReviewJob.Status.PENDING, ReviewJob.Status.RUNNING);
+    }
+
+    /** 작업 행이 없는 BOT_REVIEW 제출(대기열 도입 이전 데이터 등)을 대기열에 넣는다. */
+    @Transactional
+    public int enqueueOrphanedBotReviews() {
+        return jobRepo.enqueueOrphanedBotReviews(LocalDateTime.now());
+    }
+
+    @Transactional
+    public int purgeFinished() {
+        return jobRepo.deleteFinishedBefore(ReviewJob.Status.DONE, LocalDateTime.now().minus(retention));
+    }
+
+    private static String truncate(String s) {
+        if (s == null) return null;
+        return s.length() > 500 ? s.substring(0, 500) : s;
+    }
+}
@@ -0,0 +1,135 @@
+package com.cnu.docserver.ocr;
+
+import com.cnu.docserver.config.ReviewExecutorConfig;
+import com.cnu.docserver.submission.event.SubmissionCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ocr_review_jobs 대기열을 비우는 워커.
+ * 노드마다 한 개씩 떠서 남는 워커 수만큼만 작업을 가져가고(SKIP LOCKED), 검토 실행기에 넘긴다.
+ */
+@Component
+@Slf4j
+public class ReviewJobWorker {
+
+    private final ReviewJobService jobService;
+    private final SubmissionReviewOrchestrator orchestrator;
+    private final ThreadPoolTaskExecutor reviewExecutor;
+    private final TaskScheduler taskScheduler;
+    private final OcrCallGuard ocrCallGuard;
+    private final OcrBatcher ocrBatcher;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName(); // pid@host
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    @Value("${ocr.review.worker.batch-size:16}")
+    private int batchSize;
+
+    @Value("${ocr.guard.defer-delay:PT30S}")
+    private Duration deferDelay;
+
+    public ReviewJobWorker(ReviewJobService jobService,
+                           SubmissionReviewOrchestrator orchestrator,
+                           @Qualifier(ReviewExecutorConfig.REVIEW_EXECUTOR) ThreadPoolTaskExecutor reviewExecutor,
+                           TaskScheduler taskScheduler,
+                           OcrCallGuard ocrCallGuard,
+                           OcrBatcher ocrBatcher) {
+        this.jobService = jobService;
+        this.orchestrator = orchestrator;
+        this.reviewExecutor = reviewExecutor;
+        this.taskScheduler = taskScheduler;
+        this.ocrCallGuard = ocrCallGuard;
+        this.ocrBatcher = ocrBatcher;
+    }
+
+    /**
+     * 제출 트랜잭션이 커밋되면 주기를 기다리지 않고 바로 한 번 가져간다.
+     * (요청 스레드를 잡지 않도록 스케줄러 스레드에서 실행)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSubmissionCreated(SubmissionCreatedEvent event) {
+        taskScheduler.schedule(this::poll, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${ocr.review.worker.poll-interval-ms:2000}")
+    public void poll() {
+        if (!pollLock.tryLock()) return; // 이미 다른 스레드가 가져가는 중
+        try {
+            // 놀고 있는 워커 수와 OCR 보호막이 허용하는 동시 호출 수(배치면 호출당 파일 수만큼) 중 작은 만큼만 가져간다.
+            long ocrCapacity = (long) ocrCallGuard.availablePermits() * ocrBatcher.filesPerCall();
+            int free = (int) Math.min(freeWorkers(), ocrCapacity);
+            if (free <= 0) return;
+
+            List<ReviewJob> jobs = jobService.claim(nodeId, Math.min(free, batchSize));
+            for (ReviewJob job : jobs) {
+                Long jobId = job.getId();
+                Integer submissionId = job.getSubmissionId();
+                // 거절되면 작업은 RUNNING으로 남고, 임대 만료 후 다시 대기열로 돌아온다.
+                reviewExecutor.execute(() -> process(jobId, submissionId));
+            }
+            if (!jobs.isEmpty()) {
+                log.debug("Claimed {} review job(s) on {}", jobs.size(), nodeId);
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to poll review jobs: {}", e.getMessage(), e);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void redriveOnStartup() {
+        int orphans = jobService.enqueueOrphanedBotReviews();
+        int released = jobService.releaseExpiredLeases();
+        if (orphans > 0 || released > 0) {
+            log.info("🔁 Review queue re-drive on startup: {} orphaned submission(s) queued, {} expired lease(s) released",
+                    orphans, released);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ocr.review.worker.redrive-interval-ms:60000}")
+    public void redriveExpiredLeases() {
+        try {
+            int released = jobService.releaseExpiredLeases();
+            if (released > 0) log.warn("🔁 Released {} expired review job lease(s)", released);
+            jobService.purgeFinished();
+        } catch (Exception e) {
+            log.error("❌ Failed to re-drive review jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    private void process(Long jobId, Integer submissionId) {
+        try {
+            orchestrator.runBotReview(submissionId);
+            jobService.complete(jobId);
+        } catch (OcrClient.OcrDeferredException e) {
+            jobService.defer(jobId, deferDelay, e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Review job {} for submission ID {} failed: {}", jobId, submissionId, e.getMessage(), e);
+            jobService.retryLater(jobId, e.getMessage());
+        }
+    }
+
+    // 실행기에 쌓아두지 않고, 놀고 있는 워커 수만큼만 가져간다(임대 시간이 대기열에서 흐르지 않도록).
+    private int freeWorkers() {
+        ThreadPoolExecutor pool = reviewExecutor.getThreadPoolExecutor();
+        return pool.getMaximumPoolSize() - pool.getActiveCount() - pool.getQueue().size();
+    }
+}
@@ -1,15 +1,13 @@
 package com.cnu.docserver.ocr;
 
 import com.cnu.docserver.ocr.OcrClient.OcrResult;
+import com.cnu.docserver.ocr.repository.OCRReviewResultRepository;
 import com.cnu.docserver.submission.entity.Submission;
 import com.cnu.docserver.submission.entity.SubmissionHistory;
 import com.cnu.docserver.submission.enums.HistoryAction;
 import com.cnu.docserver.submission.enums.SubmissionStatus;
 import com.cnu.docserver.submission.repository.SubmissionHistoryRepository;
 import com.cnu.docserver.submission.repository.SubmissionRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -18,7 +16,6 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -29,11 +26,7 @@ public class ReviewTransactionService {
 
     private final SubmissionRepository submissionRepo;
     private final SubmissionHistoryRepository historyRepo;
-    private final ObjectMapper objectMapper;
-
-    private static final boolean OCR_DETAIL_ENABLED =
-            Boolean.parseBoolean(System.getProperty("ocr.detail.enabled",
-                    System.getenv().getOrDefault("OCR_DETAIL_ENABLED", "false")));
+    private final OCRReviewResultRepository ocrReviewResultRepo;
 
     /**
      * OCR 결과를 바탕으로 DB 상태를 업데이트하는 트랜잭션 메서드
@@ -85,40 +78,19 @@ public class ReviewTransactionService {
                 .memo(humanMemo)
                 .build());
 
-        if (OCR_DETAIL_ENABLED) {
-            try {
-                ObjectNode root = objectMapper.createObjectNode();
-                root.put("type", "OCR");
-                root.put("verdict", verdict);
-                root.put("latency", latency);
-
-                ArrayNode arr = objectMapper.createArrayNode();
-                Optional.ofNullable(res.getFindings()).orElse(List.of()).forEach(f -> {
-                    ObjectNode item = objectMapper.createObjectNode();
-                    item.put("label", f.getLabel());
-                    item.put("message", f.getMessage());
-                    arr.add(item);
-                });
-                root.set("findings", arr);
-
-                root.put("reason", Optional.ofNullable(res.getReason()).orElse(null));
-                root.put("debug_text", Optional.ofNullable(res.getDebugText()).orElse(null));
-
-                String json = objectMapper.writeValueAsString(root);
-                log.debug("📝 Saving OCR_DETAIL for submission ID {}: {}", submissionId, json);
-
-                historyRepo.save(SubmissionHistory.builder()
-                        .submission(s)
-                        .action(HistoryAction.MODIFIED)
-                        .memo("OCR_DETAIL " + json)
-                        .build());
-            } catch (Exception e) {
-                log.error("JSON serialization failed for submission ID {}: {}", submissionId, e.getMessage(), e);
-            }
-        }
+        // 구조화된 검토 결과: 결과 조회 API는 이 한 행만 읽는다.
+        OCRReviewResult result = OCRReviewResult.builder()
+                .submission(s)
+                .verdict(verdict.isEmpty() ? "UNKNOWN" : verdict)
+                .reason(res.getReason())
+                .debugText(res.getDebugText())
+                .latencyMs(latency)
+                .build();
+        result.setFindings(res.getFindings());
+        ocrReviewResultRepo.save(result);
 
         submissionRepo.saveAndFlush(s);
-        log.info("✅ Submission ID {} status update and history saved successfully.", submissionId);
+        log.info("✅ Submission ID {} status update, history and review result saved successfully.", submissionId);
     }
 
     /**
@@ -0,0 +1,86 @@
+package com.cnu.docserver.ocr;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 디스크 파일을 그대로 흘려보내는 multipart/form-data 본문.
+ * 파트 헤더만 미리 만들어 두고 파일 내용은 전송 시점에 스트림으로 복사하므로
+ * 파일 크기와 상관없이 힙 사용량이 일정하고, 전체 길이를 미리 계산해 Content-Length를 보낸다.
+ */
+final class StreamingMultipartBody {
+
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final String boundary = "ocr-" + UUID.randomUUID();
+    private final List<FilePart> parts = new ArrayList<>();
+
+    private record FilePart(byte[] header, Path file, long size) {}
+
+    /** 파일 파트 추가 (파일 크기는 여기서 한 번만 조회) */
+    StreamingMultipartBody addFile(String name, String filename, Path file) throws IOException {
+        String header = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + escape(filename) + "\"\r\n"
+                + "Content-Type: " + MediaType.APPLICATION_OCTET_STREAM_VALUE + "\r\n"
+                + "\r\n";
+        parts.add(new FilePart(header.getBytes(StandardCharsets.UTF_8), file, Files.size(file)));
+        return this;
+    }
+
+    MediaType contentType() {
+        return new MediaType(MediaType.MULTIPART_FORM_DATA, Map.of("boundary", boundary));
+    }
+
+    long contentLength() {
+        long total = closing().length;
+        for (FilePart p : parts) {
+            total += p.header().length + p.size() + CRLF.length;
+        }
+        return total;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        for (FilePart p : parts) {
+            out.write(p.header());
+            Files.copy(p.file(), out);   // 고정 크기 버퍼로 복사
+            out.write(CRLF);
+        }
+        out.write(closing());
+        out.flush();
+    }
+
+    /** RestTemplate.execute 의 RequestCallback 으로 사용 */
+    void writeTo(ClientHttpRequest request) throws IOException {
+        HttpHeaders headers = request.getHeaders();
+        headers.setContentType(contentType());
+        headers.setContentLength(contentLength());
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+        if (request instanceof StreamingHttpOutputMessage streaming) {
+            streaming.setBody(this::writeTo);
+        } else {
+            writeTo(request.getBody());
+        }
+    }
+
+    private byte[] closing() {
+        return ("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String escape(String filename) {
+        String f = (filename == null || filename.isBlank()) ? "upload.bin" : filename;
+        return f.replace("\\", "\\\\").replace("\"", "\\\"").replace("\r", "").replace("\n", "");
+    }
+}
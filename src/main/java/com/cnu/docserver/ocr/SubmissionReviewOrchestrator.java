@@ -4,18 +4,16 @@ import com.cnu.docserver.docmanger.service.FileStorageService;
 import com.cnu.docserver.ocr.OcrClient.OcrException;
 import com.cnu.docserver.submission.entity.Submission;
 import com.cnu.docserver.submission.entity.SubmissionFile;
-import com.cnu.docserver.submission.event.SubmissionCreatedEvent;
+import com.cnu.docserver.submission.enums.SubmissionStatus;
 import com.cnu.docserver.submission.repository.SubmissionFileRepository;
 import com.cnu.docserver.submission.repository.SubmissionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.file.Path;
 import java.util.Optional;
 
 @Service
@@ -25,44 +23,66 @@ public class SubmissionReviewOrchestrator {
 
     private final SubmissionRepository submissionRepo;
     private final SubmissionFileRepository fileRepo;
-    private final OcrClient ocrClient;
+    private final OcrBatcher ocrBatcher;
     private final FileStorageService fileStorageService;
     private final ReviewTransactionService reviewTransactionService; // ⭐ 새로 추가된 서비스
+    private final OcrResultCache ocrResultCache;
 
     /**
-     * SubmissionService에서 이벤트가 발행되면 호출되는 메서드
+     * ReviewJobWorker가 대기열(ocr_review_jobs)에서 꺼낸 작업을 검토 실행기 스레드에서 호출
+     * @throws OcrClient.OcrDeferredException OCR 호출이 보류된 경우 (제출 상태는 그대로)
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async // OCR 작업은 비동기로 처리
-    public void onSubmissionCreated(SubmissionCreatedEvent event) {
-        this.runBotReview(event.getSubmissionId());
-    }
-
     public void runBotReview(Integer submissionId) {
         log.info("🤖 Starting OCR review for submission ID: {}", submissionId);
 
         Submission s = submissionRepo.findById(submissionId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
+        // 재처리(임대 만료 등)로 들어왔는데 이미 관리자/학생이 상태를 바꿨으면 덮어쓰지 않는다.
+        if (s.getStatus() != SubmissionStatus.BOT_REVIEW) {
+            log.info("⏭️ Submission ID {} is no longer in BOT_REVIEW ({}). Skipping OCR review.", submissionId, s.getStatus());
+            return;
+        }
+
         try {
-            String fileUrl = fileRepo.findTopBySubmissionOrderBySubmissionFileIdDesc(s)
-                    .map(SubmissionFile::getFileUrl)
+            SubmissionFile submissionFile = fileRepo.findTopBySubmissionOrderBySubmissionFileIdDesc(s)
                     .orElseThrow(() -> {
                         log.error("❌ File not found for submission ID: {}", submissionId);
                         return new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 없음");
                     });
+            String fileUrl = submissionFile.getFileUrl();
+
+            Path file = fileStorageService.resolveReadable(fileUrl);
+
+            // 같은 파일 + 문서 유형으로 이미 검토한 결과가 있으면 OCR 서버를 부르지 않는다.
+            // (업로드 때 구한 해시가 있으면 파일을 다시 읽지 않음)
+            Integer docTypeId = s.getDocType().getDocTypeId();
+            String contentHash = Optional.ofNullable(submissionFile.getContentSha256())
+                    .orElseGet(() -> ocrResultCache.hash(file));
+            Optional<OcrClient.OcrResult> cached = ocrResultCache.find(contentHash, docTypeId);
+            if (cached.isPresent()) {
+                log.info("♻️ OCR result cache hit for submission ID: {} (hash={}). Verdict: {}",
+                        submissionId, contentHash, cached.get().getVerdict());
+                reviewTransactionService.updateSubmissionStatus(submissionId, cached.get(), 0L);
+                return;
+            }
 
             log.info("📞 Calling OCR service for submission ID: {} with file URL: {}", submissionId, fileUrl);
-            byte[] fileBytes = fileStorageService.readBytes(fileUrl);
             long t0 = System.currentTimeMillis();
-            OcrClient.OcrResult res = ocrClient.review(fileBytes, "submission.pdf");
+            // 동시에 검토 중인 다른 제출과 한 번의 배치 호출로 묶일 수 있음
+            OcrClient.OcrResult res = ocrBatcher.review(file, "submission-" + submissionId + ".pdf");
             long latency = System.currentTimeMillis() - t0;
             log.info("✅ OCR service call successful for submission ID: {}. Verdict: {}, Latency: {}ms",
                     submissionId, res.getVerdict(), latency);
+            ocrResultCache.put(contentHash, docTypeId, res);
 
             // ⭐ 분리된 서비스의 메소드 호출
             reviewTransactionService.updateSubmissionStatus(submissionId, res, latency);
 
+        } catch (OcrClient.OcrDeferredException e) {
+            // OCR 서버 보호(한도 초과/브레이커 OPEN): NEEDS_FIX로 바꾸지 않고 BOT_REVIEW 유지, 워커가 나중에 재시도
+            log.warn("⏸️ OCR review deferred for submission {}: {}", submissionId, e.getMessage());
+            throw e;
         } catch (FileStorageService.FileReadException e) {
             log.error("❌ Failed to read file for submission {}: {}", submissionId, e.getMessage(), e);
             reviewTransactionService.saveAsNeedsFix(submissionId, "자동 검토 실패: 파일 읽기 오류 - " + e.getMessage());
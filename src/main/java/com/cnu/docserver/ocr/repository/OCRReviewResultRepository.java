@@ -6,6 +6,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
-public interface OCRReviewResultRepository extends JpaRepository<OCRReviewResult, Integer> {
+public interface OCRReviewResultRepository extends JpaRepository<OCRReviewResult, Long> {
     Optional<OCRReviewResult> findTopBySubmissionOrderByIdDesc(Submission submission);
+
+    // 검토 결과 폴링용: (submission_id, created_at, id) 인덱스 한 번으로 최신 결과 조회
+    // 백필로 옮긴 옛 결과는 id 가 더 크므로 id 가 아니라 생성 시각 순으로 고른다
+    Optional<OCRReviewResult> findTopBySubmission_SubmissionIdOrderByCreatedAtDescIdDesc(Integer submissionId);
 }
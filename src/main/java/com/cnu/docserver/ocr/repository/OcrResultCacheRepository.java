@@ -0,0 +1,11 @@
+package com.cnu.docserver.ocr.repository;
+
+import com.cnu.docserver.ocr.OcrResultCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface OcrResultCacheRepository extends JpaRepository<OcrResultCacheEntry, Long> {
+    Optional<OcrResultCacheEntry> findByContentHashAndDocTypeIdAndModelVersion(
+            String contentHash, Integer docTypeId, String modelVersion);
+}
@@ -0,0 +1,79 @@
+package com.cnu.docserver.ocr.repository;
+
+import com.cnu.docserver.ocr.ReviewJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReviewJobRepository extends JpaRepository<ReviewJob, Long> {
+
+    boolean existsBySubmissionIdAndStatusIn(Integer submissionId, Collection<ReviewJob.Status> statuses);
+
+    // 학과별 지금 가져갈 수 있는 작업 수 (공정 배분 입력 + 대기열 깊이 지표)
+    @Query("""
+        select j.departmentId, count(j) from ReviewJob j
+         where j.status = :pending and j.availableAt <= :now
+         group by j.departmentId
+        """)
+    List<Object[]> countReadyByDepartment(@Param("now") LocalDateTime now, @Param("pending") ReviewJob.Status pending);
+
+    // 한 학과 안에서는 마감일이 가까운 작업부터 (마감일 없음은 9999-12-31 로 저장돼 맨 뒤)
+    // (status, department_id, due_date, id, available_at) 인덱스 순서 그대로 읽고 available_at 은 인덱스에서 거르므로 filesort 없음
+    // 여러 노드가 동시에 가져가도 같은 행을 두 번 잡지 않도록 SKIP LOCKED (MySQL 8+)
+    @Query(value = """
+        SELECT * FROM ocr_review_jobs
+         WHERE status = 'PENDING' AND department_id = :departmentId AND available_at <= :now
+         ORDER BY due_date, id
+         LIMIT :limit
+         FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<ReviewJob> lockPendingForDepartment(@Param("departmentId") Integer departmentId,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("limit") int limit);
+
+    // 마감일이 바뀌면 아직 대기 중인 작업의 정렬 기준도 바꾼다
+    @Modifying
+    @Query(value = """
+        UPDATE ocr_review_jobs j
+          JOIN submissions s ON s.submission_id = j.submission_id
+           SET j.due_date = :dueDate
+         WHERE s.doc_type_id = :docTypeId AND j.status = 'PENDING'
+        """, nativeQuery = true)
+    int updateDueDateForDocType(@Param("docTypeId") Integer docTypeId, @Param("dueDate") LocalDate dueDate);
+
+    // 임대 시간이 지난 RUNNING 작업을 다시 대기 상태로
+    @Modifying
+    @Query("""
+        update ReviewJob j
+           set j.status = :pending, j.leaseOwner = null, j.leaseUntil = null, j.availableAt = :now, j.updatedAt = :now
+         where j.status = :running and j.leaseUntil < :now
+        """)
+    int releaseExpiredLeases(@Param("now") LocalDateTime now,
+                             @Param("pending") ReviewJob.Status pending,
+                             @Param("running") ReviewJob.Status running);
+
+    // 대기열 도입 전/유실된 BOT_REVIEW 제출을 작업으로 복구
+    @Modifying
+    @Query(value = """
+        INSERT INTO ocr_review_jobs (submission_id, department_id, due_date, status, attempts, available_at, created_at, updated_at)
+        SELECT s.submission_id, dt.department_id, COALESCE(d.deadline, '9999-12-31'), 'PENDING', 0, :now, :now, :now
+          FROM submissions s
+          JOIN doc_types dt ON dt.doc_type_id = s.doc_type_id
+          LEFT JOIN deadlines d ON d.doc_type_id = s.doc_type_id
+         WHERE s.status = 'BOT_REVIEW'
+           AND NOT EXISTS (SELECT 1 FROM ocr_review_jobs j
+                            WHERE j.submission_id = s.submission_id
+                              AND j.status IN ('PENDING', 'RUNNING'))
+        """, nativeQuery = true)
+    int enqueueOrphanedBotReviews(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from ReviewJob j where j.status = :done and j.updatedAt < :before")
+    int deleteFinishedBefore(@Param("done") ReviewJob.Status done, @Param("before") LocalDateTime before);
+}
@@ -1,20 +1,20 @@
 package com.cnu.docserver.submission.controller;
 
+import com.cnu.docserver.auth.context.LoginPrincipal;
 import com.cnu.docserver.submission.dto.AdminDecisionRequestDTO;
+import com.cnu.docserver.submission.dto.CursorPageDTO;
 import com.cnu.docserver.submission.dto.SubmissionDetailDTO;
 import com.cnu.docserver.submission.dto.SubmissionSummaryDTO;
 import com.cnu.docserver.submission.entity.Submission;
 import com.cnu.docserver.submission.enums.SubmissionStatus;
 import com.cnu.docserver.submission.service.AdminSubmissionService;
-import com.cnu.docserver.user.entity.Member;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -36,6 +36,17 @@ public class AdminSubmissionController {
     ) {
         return adminSubmissionService.listAdminQueue(departmentId, statuses);
     }
+
+    // 검토 목록 (커서 페이지) — 응답의 nextCursor 를 다음 요청의 cursor 로 넘긴다
+    @GetMapping("/queue")
+    public CursorPageDTO<SubmissionSummaryDTO> queue(
+            @RequestParam Integer departmentId,
+            @RequestParam(required = false) List<SubmissionStatus> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return adminSubmissionService.listAdminQueuePage(departmentId, statuses, cursor, size);
+    }
     // 상세 조회 (필요시)
     @GetMapping("/{id}")
     public SubmissionDetailDTO getOne(@PathVariable Integer id) {
@@ -45,15 +56,14 @@ public class AdminSubmissionController {
     // 승인
     @PostMapping("/{id}/approve")
     public SubmissionSummaryDTO approve(@PathVariable Integer id) {
-        Member adminMember = (Member) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return adminSubmissionService.approve(id, adminMember); // memo 인자 제거
+        return adminSubmissionService.approve(id, LoginPrincipal.current().requireAdminId()); // memo 인자 제거
     }
     // 반려
     @PostMapping("/{id}/reject")
     public SubmissionSummaryDTO reject(@PathVariable Integer id, @RequestBody AdminDecisionRequestDTO body) {
-        Member adminMember = (Member) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        String adminId = LoginPrincipal.current().requireAdminId();
         String reason = (body != null && body.getMemo()!=null) ? body.getMemo() : "사유 미기재";
-        return adminSubmissionService.reject(id, adminMember, reason);
+        return adminSubmissionService.reject(id, adminId, reason);
     }
 
     @GetMapping("/{id}/file")
@@ -65,7 +75,7 @@ public class AdminSubmissionController {
                         "attachment; filename*=UTF-8''" + org.springframework.web.util.UriUtils.encode(file.filename(), java.nio.charset.StandardCharsets.UTF_8))
                 .header(HttpHeaders.CACHE_CONTROL, "no-store")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(file.data().length)
-                .body(new ByteArrayResource(file.data()));
+                .contentLength(file.size())
+                .body(new FileSystemResource(file.path()));
     }
 }
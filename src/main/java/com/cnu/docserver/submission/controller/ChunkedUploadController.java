@@ -0,0 +1,80 @@
+package com.cnu.docserver.submission.controller;
+
+import com.cnu.docserver.docmanger.service.ChunkedUploadService;
+import com.cnu.docserver.submission.dto.StagedUploadDTO;
+import com.cnu.docserver.submission.dto.UploadSessionDTO;
+import com.cnu.docserver.submission.dto.UploadSessionRequestDTO;
+import com.cnu.docserver.submission.service.SubmissionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/submissions/uploads/sessions")
+@Tag(name = "Student Submission", description = "학생 제출/수정/제출 API")
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final SubmissionService submissionService;
+
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(
+            summary = "이어 올리기 세션 생성",
+            description = "큰 파일을 조각으로 나눠 올릴 세션을 만듭니다. 이후 PUT 으로 조각을 보내고 complete 로 uploadToken 을 받습니다."
+    )
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public UploadSessionDTO open(@RequestBody UploadSessionRequestDTO body) {
+        return toDTO(chunkedUploadService.open(submissionService.getCurrentStudentId(),
+                body.getFilename(), body.getSize(), body.getSha256()));
+    }
+
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "이어 올리기 상태", description = "서버가 받은 바이트 수(offset)를 돌려줍니다. 끊긴 뒤 이 offset 부터 다시 보내면 됩니다.")
+    @GetMapping("/{uploadId}")
+    public UploadSessionDTO status(@PathVariable String uploadId) {
+        return toDTO(chunkedUploadService.status(uploadId, submissionService.getCurrentStudentId()));
+    }
+
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(
+            summary = "조각 업로드",
+            description = "본문은 조각 바이트(application/octet-stream). offset 은 현재 서버 offset 과 같아야 하며, X-Chunk-SHA256 을 주면 조각을 검증합니다."
+    )
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public UploadSessionDTO putChunk(
+            @PathVariable String uploadId,
+            @Parameter(description = "이 조각의 시작 위치(바이트)", example = "0") @RequestParam long offset,
+            @Parameter(description = "조각 SHA-256(hex, 선택)") @RequestHeader(value = "X-Chunk-SHA256", required = false) String chunkSha256,
+            InputStream body
+    ) {
+        String studentId = submissionService.getCurrentStudentId();
+        chunkedUploadService.writeChunk(uploadId, studentId, offset, body, chunkSha256);
+        return toDTO(chunkedUploadService.status(uploadId, studentId));
+    }
+
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "이어 올리기 완료", description = "모든 조각을 받았으면 uploadToken 을 발급합니다. 제출 생성/수정에 그대로 사용합니다.")
+    @PostMapping("/{uploadId}/complete")
+    public StagedUploadDTO complete(@PathVariable String uploadId) {
+        return StagedUploadDTO.from(chunkedUploadService.complete(uploadId, submissionService.getCurrentStudentId()));
+    }
+
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "이어 올리기 취소")
+    @DeleteMapping("/{uploadId}")
+    public void abort(@PathVariable String uploadId) {
+        chunkedUploadService.abort(uploadId, submissionService.getCurrentStudentId());
+    }
+
+    private static UploadSessionDTO toDTO(ChunkedUploadService.Status status) {
+        var session = status.session();
+        return new UploadSessionDTO(session.id(), session.filename(), session.size(), status.offset(), status.maxChunkSize());
+    }
+}
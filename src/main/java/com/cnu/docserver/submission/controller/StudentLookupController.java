@@ -1,23 +1,18 @@
 package com.cnu.docserver.submission.controller;
 
-import com.cnu.docserver.deadline.dto.DeadlineStatusDTO;
-import com.cnu.docserver.deadline.service.DeadlineService;
-import com.cnu.docserver.department.dto.DepartmentResponseDTO;
-import com.cnu.docserver.department.entity.Department;
-import com.cnu.docserver.department.repository.DepartmentRepository;
-import com.cnu.docserver.docmanger.dto.DocTypeResponseDTO;
-import com.cnu.docserver.docmanger.dto.RequiredFieldDTO;
-import com.cnu.docserver.docmanger.service.DocTypeService;
+import com.cnu.docserver.common.cache.CatalogSnapshot;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequiredArgsConstructor
@@ -26,49 +21,48 @@ import java.util.List;
 public class StudentLookupController {
 
 
-    private final DepartmentRepository departmentRepository;
-    private final DocTypeService docTypeService;
-    private final DeadlineService deadlineService;
+    private final CatalogSnapshot catalogSnapshot;
+
+    // 아래 조회는 모두 미리 만들어 둔 카탈로그 스냅샷의 JSON 바이트를 그대로 돌려준다.
+    // ETag 가 같으면(If-None-Match) 본문 없이 304.
 
     //부서 목록
     @PreAuthorize("hasRole('STUDENT')")
     @GetMapping("/departments")
-    public List<DepartmentResponseDTO> getDepartments() {
-
-        return departmentRepository.findAll(Sort.by(Sort.Direction.ASC, "departmentId"))
-                .stream()
-                .map(StudentLookupController::toDeptDto)
-                .toList();
+    public ResponseEntity<byte[]> getDepartments() {
+        return serve(catalogSnapshot.departments());
     }
 
     //부서별 문서 목록
     @PreAuthorize("hasRole('STUDENT')")
     @GetMapping("/departments/{departmentId}/doc-types")
-    public List<DocTypeResponseDTO> getDocTypes(@PathVariable Integer departmentId) {
-        return docTypeService.getDocTypesByDepartment(departmentId);
+    public ResponseEntity<byte[]> getDocTypes(@PathVariable Integer departmentId) {
+        return serve(catalogSnapshot.docTypes(departmentId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "부서를 찾을 수 없습니다.")));
     }
 
     //필수항목 정의
     @PreAuthorize("hasRole('STUDENT')")
     @GetMapping("/doc-types/{docTypeId}/required-fields")
-    public List<RequiredFieldDTO> getRequiredFields(@PathVariable Integer docTypeId) {
-        return docTypeService.getRequiredFields(docTypeId);
+    public ResponseEntity<byte[]> getRequiredFields(@PathVariable Integer docTypeId) {
+        return serve(catalogSnapshot.requiredFields(docTypeId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "문서를 찾을 수 없습니다.")));
     }
 
     //제출기한
     @PreAuthorize("hasRole('STUDENT')")
     @GetMapping("/doc-types/{docTypeId}/deadline")
-    public DeadlineStatusDTO getDeadline(@PathVariable Integer docTypeId){
-        return deadlineService.getDeadlineByDocTypeId(docTypeId);
+    public ResponseEntity<byte[]> getDeadline(@PathVariable Integer docTypeId){
+        return serve(catalogSnapshot.deadline(docTypeId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "문서를 찾을 수 없습니다.")));
     }
 
-    private static DepartmentResponseDTO toDeptDto(Department department) {
-        return DepartmentResponseDTO.builder()
-                .id(department.getDepartmentId())
-                .name(department.getName())
-                .phone(department.getPhone())
-                .build();
+    // ETag 를 실은 ResponseEntity 는 Spring 이 If-None-Match 와 비교해 알아서 304 로 바꾼다
+    private static ResponseEntity<byte[]> serve(CatalogSnapshot.Payload payload) {
+        return ResponseEntity.ok()
+                .eTag(payload.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())   // 매번 재검증 (로그인 사용자 전용)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payload.json());
     }
-
-
 }
@@ -1,18 +1,22 @@
 // com/cnu/docserver/submission/controller/SubmissionController.java
 package com.cnu.docserver.submission.controller;
 
+import com.cnu.docserver.docmanger.service.StagedUploadService;
+import com.cnu.docserver.ocr.OCRReviewResult;
+import com.cnu.docserver.ocr.repository.OCRReviewResultRepository;
+import com.cnu.docserver.submission.dto.CursorPageDTO;
+import com.cnu.docserver.submission.dto.MySubmissionQueryRowDTO;
 import com.cnu.docserver.submission.dto.MySubmissionRowDTO;
+import com.cnu.docserver.submission.dto.StagedUploadDTO;
+import com.cnu.docserver.submission.dto.SubmissionCursor;
 import com.cnu.docserver.submission.dto.SubmissionSummaryDTO;
 import com.cnu.docserver.submission.dto.SubmitRequestDTO;
 import com.cnu.docserver.submission.entity.Submission;
-import com.cnu.docserver.submission.entity.SubmissionFile;
-import com.cnu.docserver.submission.entity.SubmissionHistory;
-import com.cnu.docserver.submission.repository.SubmissionFileRepository;
+import com.cnu.docserver.submission.enums.SubmissionStatus;
 import com.cnu.docserver.submission.repository.SubmissionHistoryRepository;
 import com.cnu.docserver.submission.repository.SubmissionRepository;
+import com.cnu.docserver.submission.service.IdempotencyService;
 import com.cnu.docserver.submission.service.SubmissionService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.*;
 import io.swagger.v3.oas.annotations.media.*;
 import io.swagger.v3.oas.annotations.responses.*;
@@ -39,12 +43,27 @@ import java.util.*;
 public class SubmissionController {
 
     private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-    private static final ObjectMapper OM = new ObjectMapper();
 
     private final SubmissionService submissionService;
+    private final StagedUploadService stagedUploadService;
+    private final IdempotencyService idempotencyService;
     private final SubmissionRepository submissionRepository;
     private final SubmissionHistoryRepository submissionHistoryRepository;
-    private final SubmissionFileRepository submissionFileRepository;
+    private final OCRReviewResultRepository ocrReviewResultRepository;
+
+    /* ---------------- 파일 스테이징(2단계 업로드 1단계) ---------------- */
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(
+            summary = "파일 업로드(스테이징)",
+            description = "파일만 먼저 올리고 uploadToken 을 받습니다. 제출 생성/수정 시 file 대신 uploadToken 을 보내면 DB 작업만 합니다."
+    )
+    @PostMapping(value = "/uploads", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public StagedUploadDTO stageUpload(
+            @Parameter(description = "제출 파일", required = true)
+            @RequestPart("file") MultipartFile file
+    ) {
+        return StagedUploadDTO.from(stagedUploadService.stage(file, submissionService.getCurrentStudentId()));
+    }
 
     /* ---------------- 최초 제출 ---------------- */
     @PreAuthorize("hasRole('STUDENT')")
@@ -64,10 +83,18 @@ public class SubmissionController {
             @RequestParam Integer docTypeId,
             @Parameter(description = "필드 값 JSON (예: [{\"label\":\"학번\",\"value\":\"20231234\"}])")
             @RequestParam(required = false) String fieldsJson,
-            @Parameter(description = "제출 파일", required = true)
-            @RequestPart("file") MultipartFile file
+            @Parameter(description = "제출 파일 (uploadToken 이 없을 때)")
+            @RequestPart(value = "file", required = false) MultipartFile file,
+            @Parameter(description = "POST /api/submissions/uploads 로 받은 토큰")
+            @RequestParam(required = false) String uploadToken,
+            @Parameter(description = "재시도해도 한 번만 처리되도록 클라이언트가 만든 키")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        return submissionService.create(docTypeId, fieldsJson, file);
+        // 파일을 직접 보낸 경우에도 트랜잭션 밖에서 먼저 스테이징한다 (재전송된 요청이면 스테이징도 건너뜀)
+        return idempotencyService.execute(idempotencyKey, "POST /api/submissions",
+                fingerprint(docTypeId, fieldsJson, file, uploadToken),
+                () -> stageIfPresent(file, uploadToken),
+                token -> submissionService.create(docTypeId, fieldsJson, token));
     }
 
     /* ---------------- 단건 조회(요약) ---------------- */
@@ -87,9 +114,15 @@ public class SubmissionController {
     public SubmissionSummaryDTO update(
             @Parameter(description = "제출 ID", example = "12") @PathVariable Integer submissionId,
             @Parameter(description = "필드 값 JSON") @RequestParam(required = false) String fieldsJson,
-            @Parameter(description = "수정 파일") @RequestPart(value = "file", required = false) MultipartFile file
+            @Parameter(description = "수정 파일") @RequestPart(value = "file", required = false) MultipartFile file,
+            @Parameter(description = "POST /api/submissions/uploads 로 받은 토큰") @RequestParam(required = false) String uploadToken,
+            @Parameter(description = "재시도해도 한 번만 처리되도록 클라이언트가 만든 키")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        return submissionService.update(submissionId, fieldsJson, file);
+        return idempotencyService.execute(idempotencyKey, "PUT /api/submissions/" + submissionId,
+                fingerprint(submissionId, fieldsJson, file, uploadToken),
+                () -> stageIfPresent(file, uploadToken),
+                token -> submissionService.update(submissionId, fieldsJson, token));
     }
 
     /* ---------------- 제출(바로/최종) ---------------- */
@@ -101,28 +134,29 @@ public class SubmissionController {
     @PostMapping(value = "/{submissionId}/submit", consumes = MediaType.APPLICATION_JSON_VALUE)
     public SubmissionSummaryDTO submit(
             @Parameter(description = "제출 ID", example = "12") @PathVariable Integer submissionId,
-            @RequestBody SubmitRequestDTO body
+            @RequestBody SubmitRequestDTO body,
+            @Parameter(description = "재시도해도 한 번만 처리되도록 클라이언트가 만든 키")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        return submissionService.submit(submissionId, body);
+        return idempotencyService.execute(idempotencyKey, "POST /api/submissions/" + submissionId + "/submit",
+                String.valueOf(body == null ? null : body.getMode()),
+                () -> submissionService.submit(submissionId, body));
     }
 
-    /* ---------------- 봇 검토 요약(텍스트 로그 + 상세 JSON) ---------------- */
+    /* ---------------- 봇 검토 요약(텍스트 로그 + 구조화된 OCR 결과) ---------------- */
     @PreAuthorize("permitAll()")
     @GetMapping("/{id}/review-result")
     public Map<String, Object> getBotReviewResult(@PathVariable Integer id) {
         Submission s = submissionRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
-        List<SubmissionHistory> histories =
-                submissionHistoryRepository.findBySubmissionOrderBySubmissionHistoryIdAsc(s);
-
-        // 사람이 읽는 로그
-        List<String> debugTexts = histories.stream()
-                .map(h -> Optional.ofNullable(h.getMemo()).orElse(""))
+        // 사람이 읽는 로그 (메모 컬럼만 조회)
+        List<String> debugTexts = submissionHistoryRepository.findMemosBySubmissionId(id).stream()
+                .map(memo -> Optional.ofNullable(memo).orElse(""))
                 .toList();
 
-        // 최신 OCR_DETAIL 파싱
-        Map<String, Object> payload = extractLatestOcrDetail(histories);
+        // 최신 OCR 결과 한 행
+        Optional<OCRReviewResult> latest = ocrReviewResultRepository.findTopBySubmission_SubmissionIdOrderByCreatedAtDescIdDesc(id);
 
         // <-- 여기서부터 Map.of() 금지! -->
         Map<String, Object> out = new LinkedHashMap<>();
@@ -133,39 +167,15 @@ public class SubmissionController {
 
         // 프론트에서 우선 사용하는 키들
         // findings는 항상 리스트로 보장
-        Object findings = payload.get("findings");
-        out.put("findings", (findings instanceof List) ? findings : List.of());
+        out.put("findings", latest.map(OCRReviewResult::getFindings).orElse(List.of()));
 
         // verdict/reason은 null 이어도 허용 (HashMap은 null ok)
-        out.put("verdict", payload.get("verdict"));
-        out.put("reason", payload.get("reason"));
+        out.put("verdict", latest.map(OCRReviewResult::getVerdict).orElse(null));
+        out.put("reason", latest.map(OCRReviewResult::getReason).orElse(null));
 
         return out;
     }
 
-    /** 히스토리에서 최신 OCR_DETAIL JSON 추출 */
-    private static Map<String, Object> extractLatestOcrDetail(List<SubmissionHistory> histories) {
-        for (int i = histories.size() - 1; i >= 0; i--) {
-            String memo = Optional.ofNullable(histories.get(i).getMemo()).orElse("");
-            if (!memo.startsWith("OCR_DETAIL ")) continue;
-
-            String json = memo.substring("OCR_DETAIL ".length()).trim();
-            try {
-                Map<String, Object> map = OM.readValue(json, new TypeReference<Map<String,Object>>() {});
-                // 정규화
-                Object findings = map.get("findings");
-                if (!(findings instanceof List<?>)) {
-                    map.put("findings", List.of());
-                }
-                // verdict/reason는 없어도 그대로 둠(null 허용)
-                return map;
-            } catch (Exception ignore) {
-                // 파싱 실패 시 다음 후보 계속
-            }
-        }
-        return new HashMap<>(); // 기본값
-    }
-
 
     /* ---------------- 내 제출 현황 ---------------- */
     @PreAuthorize("hasRole('STUDENT')")
@@ -175,32 +185,76 @@ public class SubmissionController {
             @RequestParam(name = "status", required = false) String statusCsv
     ) {
         int size = Math.max(1, Math.min(limit, 20));
+        return loadMyRows(parseStatuses(statusCsv), null, size)
+                .stream().map(SubmissionController::toMyRow).toList();
+    }
+
+    /* ---------------- 내 제출 현황 (커서 페이지) ---------------- */
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(
+            summary = "내 제출 현황(커서 페이지)",
+            description = "최신순으로 size 개씩 돌려줍니다. 응답의 nextCursor 를 다음 요청의 cursor 로 보내면 이어서 조회합니다."
+    )
+    @GetMapping("/my/page")
+    public CursorPageDTO<MySubmissionRowDTO> pageMySubmissions(
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "status", required = false) String statusCsv,
+            @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        SubmissionCursor after = (cursor == null || cursor.isBlank()) ? null : SubmissionCursor.decode(cursor);
+        List<MySubmissionQueryRowDTO> rows = loadMyRows(parseStatuses(statusCsv), after, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;   // 한 건 더 읽어서 다음 페이지 여부 판단
+        List<MySubmissionQueryRowDTO> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            MySubmissionQueryRowDTO last = page.get(page.size() - 1);
+            nextCursor = new SubmissionCursor(last.submittedAt(), last.submissionId()).encode();
+        }
+        return new CursorPageDTO<>(page.stream().map(SubmissionController::toMyRow).toList(), nextCursor, hasNext);
+    }
+
+    // 제출 + 최신 파일 URL 을 쿼리 한 번으로 (행마다 파일 조회 없음)
+    private List<MySubmissionQueryRowDTO> loadMyRows(List<SubmissionStatus> statuses, SubmissionCursor after, int limit) {
         String studentId = submissionService.getCurrentStudentId();
-        Pageable pageable = PageRequest.of(0, size);
-
-        var statuses = parseStatuses(statusCsv);
-        List<Submission> rows = statuses.isEmpty()
-                ? submissionRepository.findByStudent_StudentIdOrderBySubmissionIdDesc(studentId, pageable)
-                : submissionRepository.findByStudent_StudentIdAndStatusInOrderBySubmissionIdDesc(studentId, statuses, pageable);
-
-        return rows.stream().map(s -> {
-            String submittedAt = (s.getSubmittedAt() == null) ? null : s.getSubmittedAt().format(ISO);
-            SubmissionFile latest = submissionFileRepository
-                    .findTopBySubmissionOrderBySubmissionFileIdDesc(s).orElse(null);
-            String filename = (latest != null && nonBlank(latest.getFileUrl()))
-                    ? basenameFromUrl(latest.getFileUrl()) : "(파일 미존재)";
-            return new MySubmissionRowDTO(s.getSubmissionId(), s.getStatus().name(), submittedAt, filename);
-        }).toList();
+        Collection<SubmissionStatus> filter = statuses.isEmpty() ? EnumSet.allOf(SubmissionStatus.class) : statuses;
+        Pageable pageable = PageRequest.of(0, limit);
+        return after == null
+                ? submissionRepository.findMyRows(studentId, filter, pageable)
+                : submissionRepository.findMyRowsAfter(studentId, filter, after.submittedAt(), after.submissionId(), pageable);
+    }
+
+    private static MySubmissionRowDTO toMyRow(MySubmissionQueryRowDTO row) {
+        String submittedAt = (row.submittedAt() == null) ? null : row.submittedAt().format(ISO);
+        String filename = nonBlank(row.fileUrl()) ? basenameFromUrl(row.fileUrl()) : "(파일 미존재)";
+        return new MySubmissionRowDTO(row.submissionId(), row.status().name(), submittedAt, filename);
+    }
+
+    private String stageIfPresent(MultipartFile file, String uploadToken) {
+        if (file == null || file.isEmpty()) return uploadToken;
+        if (uploadToken != null && !uploadToken.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "file 과 uploadToken 중 하나만 보내세요.");
+        }
+        return stagedUploadService.stage(file, submissionService.getCurrentStudentId()).token();
+    }
+
+    // 같은 Idempotency-Key 로 다른 내용을 보냈는지 구분하기 위한 요청 요약 (파일은 이름/크기만)
+    private static String fingerprint(Integer id, String fieldsJson, MultipartFile file, String uploadToken) {
+        String filePart = (file == null || file.isEmpty())
+                ? "token:" + uploadToken
+                : "file:" + file.getOriginalFilename() + ":" + file.getSize();
+        return id + "\n" + fieldsJson + "\n" + filePart;
     }
 
-    private static List<com.cnu.docserver.submission.enums.SubmissionStatus> parseStatuses(String csv) {
+    private static List<SubmissionStatus> parseStatuses(String csv) {
         if (csv == null || csv.isBlank()) return Collections.emptyList();
         String[] parts = csv.split(",");
-        List<com.cnu.docserver.submission.enums.SubmissionStatus> out = new ArrayList<>();
+        List<SubmissionStatus> out = new ArrayList<>();
         for (String p : parts) {
             String k = p.trim();
             if (k.isEmpty()) continue;
-            try { out.add(com.cnu.docserver.submission.enums.SubmissionStatus.valueOf(k)); }
+            try { out.add(SubmissionStatus.valueOf(k)); }
             catch (IllegalArgumentException ignore) { }
         }
         return out;
@@ -0,0 +1,12 @@
+package com.cnu.docserver.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "커서 기반 목록 응답")
+public record CursorPageDTO<T>(
+        @Schema(description = "이번 페이지 항목") List<T> items,
+        @Schema(description = "다음 페이지 요청 시 cursor 로 보낼 값 (마지막 페이지면 null)") String nextCursor,
+        @Schema(description = "다음 페이지 존재 여부") boolean hasNext
+) {}
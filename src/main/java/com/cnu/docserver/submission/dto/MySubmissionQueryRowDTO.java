@@ -0,0 +1,13 @@
+package com.cnu.docserver.submission.dto;
+
+import com.cnu.docserver.submission.enums.SubmissionStatus;
+
+import java.time.LocalDateTime;
+
+/** 학생 본인 제출 목록 한 줄 (JPQL 생성자 식으로 바로 채우는 조회 전용 결과, 응답은 MySubmissionRowDTO) */
+public record MySubmissionQueryRowDTO(
+        Integer submissionId,
+        SubmissionStatus status,
+        LocalDateTime submittedAt,
+        String fileUrl
+) {}
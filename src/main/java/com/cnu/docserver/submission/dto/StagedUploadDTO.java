@@ -0,0 +1,18 @@
+package com.cnu.docserver.submission.dto;
+
+import com.cnu.docserver.docmanger.service.StagedUploadService;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "스테이징된 업로드 (제출 생성/수정 시 uploadToken 으로 사용)")
+public record StagedUploadDTO(
+        @Schema(description = "업로드 토큰") String uploadToken,
+        @Schema(description = "원본 파일명") String filename,
+        @Schema(description = "바이트 수") long size,
+        @Schema(description = "내용 SHA-256(hex)") String sha256,
+        @Schema(description = "만료 시각(ISO8601)") String expiresAt
+) {
+    public static StagedUploadDTO from(StagedUploadService.StagedUpload staged) {
+        return new StagedUploadDTO(staged.token(), staged.filename(), staged.size(), staged.sha256(),
+                staged.expiresAt().toString());
+    }
+}
@@ -0,0 +1,31 @@
+package com.cnu.docserver.submission.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 제출 목록 keyset 커서: 마지막 행의 (submittedAt, submissionId) 를 URL-safe Base64 로 감싼 값.
+ * submissionId 는 노드마다 50개씩 미리 할당받으므로 제출 순서와 다를 수 있어 submittedAt 을 먼저 비교한다.
+ */
+public record SubmissionCursor(LocalDateTime submittedAt, Integer submissionId) {
+
+    public String encode() {
+        String raw = submittedAt + "|" + submissionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SubmissionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new SubmissionCursor(LocalDateTime.parse(raw.substring(0, sep)),
+                    Integer.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 cursor 입니다.");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.cnu.docserver.submission.dto;
+
+import com.cnu.docserver.submission.enums.SubmissionStatus;
+
+import java.time.LocalDateTime;
+
+/** 관리자 검토 목록 한 줄 (JPQL 생성자 식으로 바로 채우는 조회 전용 결과) */
+public record SubmissionQueueRowDTO(
+        Integer submissionId,
+        SubmissionStatus status,
+        LocalDateTime submittedAt,
+        String fileUrl
+) {}
@@ -0,0 +1,12 @@
+package com.cnu.docserver.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "이어 올리기 업로드 세션 상태")
+public record UploadSessionDTO(
+        @Schema(description = "업로드 세션 ID") String uploadId,
+        @Schema(description = "원본 파일명") String filename,
+        @Schema(description = "전체 바이트 수") long size,
+        @Schema(description = "서버가 받은 바이트 수 (다음 조각의 offset)") long offset,
+        @Schema(description = "조각 하나의 최대 바이트 수") long maxChunkSize
+) {}
@@ -0,0 +1,22 @@
+package com.cnu.docserver.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "이어 올리기 업로드 세션 생성 요청")
+public class UploadSessionRequestDTO {
+
+    @Schema(description = "원본 파일명", example = "scan.pdf")
+    private String filename;
+
+    @Schema(description = "전체 바이트 수", example = "52428800")
+    private long size;
+
+    @Schema(description = "전체 파일 SHA-256(hex, 선택). 주면 완료 시 검증")
+    private String sha256;
+}
@@ -0,0 +1,55 @@
+package com.cnu.docserver.submission.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 로 들어온 제출 요청의 처리 상태와 최초 응답.
+ * 같은 키로 다시 오면 작업을 반복하지 않고 저장된 응답을 돌려준다.
+ */
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_keys_scope", columnNames = "scope_key")
+}, indexes = {
+        @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at")
+})
+@Getter @Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    public enum Status { IN_PROGRESS, COMPLETED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "scope_key", length = 64, nullable = false)
+    private String scopeKey;      // SHA-256(회원 ID + 엔드포인트 + Idempotency-Key)
+
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;   // 같은 키로 다른 요청을 보냈는지 확인용
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Status status;
+
+    @Column(name = "response_json", columnDefinition = "TEXT")
+    private String responseJson;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;   // IN_PROGRESS 인데 이 시각이 지났으면 처리하던 노드가 죽은 것으로 본다
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+    }
+}
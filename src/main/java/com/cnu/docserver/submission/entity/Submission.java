@@ -16,10 +16,26 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "submissions")
+// 관리자 상세 화면: 학생 → 회원(이름/학번)과 문서 유형까지 한 번에 조인
+// (Member.student, DocType.originalFile 은 mappedBy 쪽 OneToOne 이라 지연 로딩이 안 되므로 같이 조인)
+@NamedEntityGraph(name = "Submission.detail",
+        attributeNodes = {
+                @NamedAttributeNode(value = "student", subgraph = "student"),
+                @NamedAttributeNode(value = "docType", subgraph = "docType")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode(value = "member", subgraph = "member")),
+                @NamedSubgraph(name = "member", attributeNodes = @NamedAttributeNode("student")),
+                @NamedSubgraph(name = "docType", attributeNodes = @NamedAttributeNode("originalFile"))
+        })
 public class Submission {
 
+    // IDENTITY면 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼진다 → id_generators 테이블에서 50개씩 미리 할당
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "submissions_id_gen")
+    @TableGenerator(name = "submissions_id_gen", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "submissions", allocationSize = 50)
     @Column(name = "submission_id")
     private Integer submissionId;
 
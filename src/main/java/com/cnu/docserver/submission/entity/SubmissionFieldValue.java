@@ -15,8 +15,12 @@ import org.springframework.aot.generate.GeneratedTypeReference;
 @Table(name = "submission_field_values")
 public class SubmissionFieldValue {
 
+    // id_generators 테이블에서 50개씩 미리 할당 (JDBC 배치 INSERT 가능)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "submission_field_values_id_gen")
+    @TableGenerator(name = "submission_field_values_id_gen", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "submission_field_values", allocationSize = 50)
     @Column(name = "submission_field_value_id")
     private Integer submissionFieldValueId;
 
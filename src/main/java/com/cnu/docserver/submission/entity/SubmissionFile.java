@@ -27,6 +27,12 @@ public class SubmissionFile {
     @Column(name = "file_url", nullable = false)
     private String fileUrl;
 
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;   // 업로드 시 계산한 SHA-256(hex), 예전 행은 null
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
     @Column(nullable = false)
     private LocalDateTime uploadedAt = LocalDateTime.now();
 
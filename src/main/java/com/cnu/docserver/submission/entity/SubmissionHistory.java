@@ -15,10 +15,22 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "submission_histories")
+// 상세 화면 이력: 처리한 관리자 → 회원(이름)까지 한 번에 조인 (관리자 수만큼 추가 조회가 나가지 않도록)
+@NamedEntityGraph(name = "SubmissionHistory.withAdmin",
+        attributeNodes = @NamedAttributeNode(value = "admin", subgraph = "admin"),
+        subgraphs = {
+                @NamedSubgraph(name = "admin", attributeNodes = @NamedAttributeNode(value = "member", subgraph = "member")),
+                // Member.student 는 mappedBy 쪽 OneToOne 이라 지연 로딩이 안 되므로 같이 조인
+                @NamedSubgraph(name = "member", attributeNodes = @NamedAttributeNode("student"))
+        })
 public class SubmissionHistory {
 
+    // id_generators 테이블에서 50개씩 미리 할당 (JDBC 배치 INSERT 가능)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "submission_histories_id_gen")
+    @TableGenerator(name = "submission_histories_id_gen", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "submission_histories", allocationSize = 50)
     @Column(name = "submission_history_id")
     private Integer submissionHistoryId;
 
@@ -27,7 +39,7 @@ public class SubmissionHistory {
     private Submission submission;
 
 
-    @ManyToOne(optional = true)
+    @ManyToOne(fetch = FetchType.LAZY, optional = true)   // 필요한 곳에서 엔티티 그래프로 가져온다
     @JoinColumn(name = "admin_id", nullable = true)
     private Admin admin;
 
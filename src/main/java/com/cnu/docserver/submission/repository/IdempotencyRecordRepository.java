@@ -0,0 +1,23 @@
+package com.cnu.docserver.submission.repository;
+
+import com.cnu.docserver.submission.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByScopeKey(String scopeKey);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.scopeKey = :scopeKey and r.status = com.cnu.docserver.submission.entity.IdempotencyRecord.Status.IN_PROGRESS")
+    int deleteInProgress(@Param("scopeKey") String scopeKey);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
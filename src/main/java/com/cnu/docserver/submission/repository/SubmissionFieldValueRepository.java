@@ -9,5 +9,4 @@ import java.util.List;
 public interface SubmissionFieldValueRepository extends JpaRepository<SubmissionFieldValue, Integer> {
 
     List<SubmissionFieldValue> findBySubmission(Submission submission);
-    void deleteBySubmission(Submission submission);
 }
@@ -2,15 +2,33 @@ package com.cnu.docserver.submission.repository;
 
 import com.cnu.docserver.submission.entity.Submission;
 import com.cnu.docserver.submission.entity.SubmissionHistory;
-import org.springdoc.core.converters.models.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface SubmissionHistoryRepository extends JpaRepository<SubmissionHistory, Integer> {
     List<SubmissionHistory> findBySubmissionOrderByChangedAtAsc(Submission submission);
+
+    // 관리자 상세 화면 이력: 관리자/회원까지 한 번에 (이력 길이·관리자 수와 상관없이 쿼리 1번)
+    @EntityGraph("SubmissionHistory.withAdmin")
+    List<SubmissionHistory> findWithAdminBySubmissionOrderByChangedAtAsc(Submission submission);
     // 기존: 전체 목록
     List<SubmissionHistory> findBySubmissionOrderBySubmissionHistoryIdAsc(Submission submission);
     // 혹은 최신순이 필요하면 Desc 버전도 함께
     List<SubmissionHistory> findBySubmissionOrderBySubmissionHistoryIdDesc(Submission submission);
+
+    // 검토 결과 화면의 사람이 읽는 로그: 메모 컬럼만 (예전 OCR_DETAIL JSON 메모는 제외)
+    // like 를 쓰면 '_' 가 와일드카드라 "OCR-DETAIL ..." 같은 메모도 빠지므로 접두어 위치로 정확히 비교
+    @Query("select h.memo from SubmissionHistory h " +
+            "where h.submission.submissionId = :submissionId " +
+            "and (h.memo is null or locate('OCR_DETAIL ', h.memo) <> 1) " +
+            "order by h.submissionHistoryId asc")
+    List<String> findMemosBySubmissionId(@Param("submissionId") Integer submissionId);
+
+    // OCR_DETAIL 메모 이관(backfill)용 keyset 조회
+    List<SubmissionHistory> findTop500BySubmissionHistoryIdGreaterThanAndMemoStartingWithOrderBySubmissionHistoryIdAsc(
+            Integer submissionHistoryId, String memoPrefix);
 }
@@ -1,38 +1,92 @@
 package com.cnu.docserver.submission.repository;
 
-import com.cnu.docserver.department.entity.Department;
+import com.cnu.docserver.submission.dto.MySubmissionQueryRowDTO;
+import com.cnu.docserver.submission.dto.SubmissionQueueRowDTO;
 import com.cnu.docserver.submission.entity.Submission;
 import com.cnu.docserver.submission.enums.SubmissionStatus;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Integer> {
 
-    // 기존: 상태 목록으로 필터
-    List<Submission> findByDocType_DepartmentAndStatusInOrderBySubmittedAtDesc(
-            Department department,
-            List<SubmissionStatus> statuses
-    );
-    List<Submission> findByDocType_DepartmentOrderBySubmittedAtDesc(Department department);
-
-    // ▶ 학생 본인 최신 제출 N개
-    List<Submission> findByStudent_StudentIdOrderBySubmissionIdDesc(
-            String studentId, Pageable pageable);
-
-    // ▶ 상태 필터 포함
-    List<Submission> findByStudent_StudentIdAndStatusInOrderBySubmissionIdDesc(
-            String studentId, List<SubmissionStatus> statuses, Pageable pageable);
-    @Query("""
+    // ▶ 관리자 검토 목록: 제출 + 파일 URL 을 한 번에 (행마다 파일을 따로 조회하지 않도록)
+    String QUEUE_SELECT = """
+      select new com.cnu.docserver.submission.dto.SubmissionQueueRowDTO(
+             s.submissionId, s.status, s.submittedAt, f.fileUrl)
       from Submission s
-      join fetch s.student st
-      join fetch st.member m
-      left join fetch s.docType dt
-      where s.submissionId = :id
+      left join SubmissionFile f on f.submission = s
+      where s.docType.department.departmentId = :departmentId
+        and s.status in :statuses
+    """;
+
+    @Query(QUEUE_SELECT + " order by s.submittedAt desc, s.submissionId desc")
+    List<SubmissionQueueRowDTO> findQueueRows(@Param("departmentId") Integer departmentId,
+                                              @Param("statuses") Collection<SubmissionStatus> statuses);
+
+    // ▶ 커서 첫 페이지 (submittedAt, submissionId) 내림차순. 아직 제출하지 않은(submittedAt null) 건은 제외
+    @Query(QUEUE_SELECT + """
+        and s.submittedAt is not null
+      order by s.submittedAt desc, s.submissionId desc
+    """)
+    List<SubmissionQueueRowDTO> findQueueFirstPage(@Param("departmentId") Integer departmentId,
+                                                   @Param("statuses") Collection<SubmissionStatus> statuses,
+                                                   Pageable pageable);
+
+    // ▶ 커서 다음 페이지: 직전 페이지 마지막 행 (submittedAt, submissionId) 보다 뒤
+    @Query(QUEUE_SELECT + """
+        and (s.submittedAt < :submittedAt
+             or (s.submittedAt = :submittedAt and s.submissionId < :submissionId))
+      order by s.submittedAt desc, s.submissionId desc
     """)
-    Optional<Submission> findDetailById(Integer id);
+    List<SubmissionQueueRowDTO> findQueueAfter(@Param("departmentId") Integer departmentId,
+                                               @Param("statuses") Collection<SubmissionStatus> statuses,
+                                               @Param("submittedAt") LocalDateTime submittedAt,
+                                               @Param("submissionId") Integer submissionId,
+                                               Pageable pageable);
+
+    // ▶ 학생 본인 제출 목록: 제출 + 가장 최근 파일 URL 을 한 번에 ((submittedAt, submissionId) 내림차순)
+    // submissionId 는 노드마다 50개씩 미리 할당받으므로 여러 노드에서는 제출 순서와 달라 정렬/커서 기준으로 쓰지 않는다
+    String MY_SELECT = """
+      select new com.cnu.docserver.submission.dto.MySubmissionQueryRowDTO(
+             s.submissionId, s.status, s.submittedAt, f.fileUrl)
+      from Submission s
+      left join SubmissionFile f on f.submission = s
+       and f.submissionFileId = (select max(f2.submissionFileId) from SubmissionFile f2 where f2.submission = s)
+      where s.student.studentId = :studentId
+        and s.status in :statuses
+    """;
+
+    @Query(MY_SELECT + """
+        and s.submittedAt is not null
+      order by s.submittedAt desc, s.submissionId desc
+    """)
+    List<MySubmissionQueryRowDTO> findMyRows(@Param("studentId") String studentId,
+                                             @Param("statuses") Collection<SubmissionStatus> statuses,
+                                             Pageable pageable);
+
+    // ▶ 커서 다음 페이지: 직전 페이지 마지막 행 (submittedAt, submissionId) 보다 뒤
+    @Query(MY_SELECT + """
+        and (s.submittedAt < :submittedAt
+             or (s.submittedAt = :submittedAt and s.submissionId < :submissionId))
+      order by s.submittedAt desc, s.submissionId desc
+    """)
+    List<MySubmissionQueryRowDTO> findMyRowsAfter(@Param("studentId") String studentId,
+                                                  @Param("statuses") Collection<SubmissionStatus> statuses,
+                                                  @Param("submittedAt") LocalDateTime submittedAt,
+                                                  @Param("submissionId") Integer submissionId,
+                                                  Pageable pageable);
+
+    // ▶ 관리자 상세: 학생/회원/문서 유형을 엔티티 그래프로 같이 로딩 (쿼리 1번)
+    @EntityGraph("Submission.detail")
+    @Query("from Submission s where s.submissionId = :id")
+    Optional<Submission> findDetailById(@Param("id") Integer id);
 
 }
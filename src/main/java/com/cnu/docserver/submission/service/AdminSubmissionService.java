@@ -1,10 +1,12 @@
 package com.cnu.docserver.submission.service;
 
-import com.cnu.docserver.department.entity.Department;
 import com.cnu.docserver.department.repository.DepartmentRepository;
 import com.cnu.docserver.docmanger.service.FileStorageService;
+import com.cnu.docserver.submission.dto.CursorPageDTO;
 import com.cnu.docserver.submission.dto.HistoryDTO;
+import com.cnu.docserver.submission.dto.SubmissionCursor;
 import com.cnu.docserver.submission.dto.SubmissionDetailDTO;
+import com.cnu.docserver.submission.dto.SubmissionQueueRowDTO;
 import com.cnu.docserver.submission.dto.SubmissionSummaryDTO;
 import com.cnu.docserver.submission.entity.Submission;
 import com.cnu.docserver.submission.entity.SubmissionFile;
@@ -15,18 +17,23 @@ import com.cnu.docserver.submission.repository.SubmissionFileRepository;
 import com.cnu.docserver.submission.repository.SubmissionHistoryRepository;
 import com.cnu.docserver.submission.repository.SubmissionRepository;
 import com.cnu.docserver.user.entity.Admin;
-import com.cnu.docserver.user.entity.Member;
 import com.cnu.docserver.user.repository.AdminRepository;
 import io.micrometer.common.lang.Nullable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
 
@@ -40,6 +47,7 @@ public class AdminSubmissionService {
     private final SubmissionFileRepository submissionFileRepository; // ★ 추가
     private final DepartmentRepository departmentRepository;
     private final FileStorageService fileStorageService;
+    private static final int MAX_QUEUE_PAGE_SIZE = 100;
     private static final EnumSet<SubmissionStatus> REVIEWABLE_STATUSES =
             EnumSet.of(
                     SubmissionStatus.SUBMITTED,
@@ -47,6 +55,10 @@ public class AdminSubmissionService {
                     SubmissionStatus.BOT_REVIEW,
                     SubmissionStatus.NEEDS_FIX
             );
+    /**
+     * 제출 상세. 이력 길이나 처리한 관리자 수와 상관없이 쿼리 3번으로 끝난다.
+     * (제출+학생+회원+문서 유형 / 파일 / 이력+관리자+회원)
+     */
     @Transactional(readOnly = true)
     public SubmissionDetailDTO getDetail(Integer id) {
 
@@ -63,7 +75,7 @@ public class AdminSubmissionService {
         String docTypeName = (s.getDocType() != null ? s.getDocType().getTitle() : null);
 
         // 히스토리
-        List<HistoryDTO> history = submissionHistoryRepository.findBySubmissionOrderByChangedAtAsc(s)
+        List<HistoryDTO> history = submissionHistoryRepository.findWithAdminBySubmissionOrderByChangedAtAsc(s)
                 .stream()
                 .map(h -> new HistoryDTO(
                         h.getSubmissionHistoryId(),
@@ -124,26 +136,69 @@ public class AdminSubmissionService {
     }
     @Transactional(readOnly = true)
     public List<SubmissionSummaryDTO> listAdminQueue(Integer departmentId, @Nullable List<SubmissionStatus> statuses) {
-        Department dept = departmentRepository.findById(departmentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "부서를 찾을 수 없습니다."));
+        requireDepartment(departmentId);
 
-        List<Submission> list;
-        if (statuses == null || statuses.isEmpty()) {
-            // ★ 전체 상태
-            list = submissionRepository.findByDocType_DepartmentOrderBySubmittedAtDesc(dept);
+        // ★ 상태 미지정이면 전체 상태
+        return submissionRepository.findQueueRows(departmentId, statusesOrAll(statuses))
+                .stream().map(AdminSubmissionService::toQueueSummary).toList();
+    }
+
+    /**
+     * 검토 목록 커서 페이지. (submittedAt, submissionId) 내림차순 keyset 이라 뒤 페이지로 가도 OFFSET 처럼 느려지지 않는다.
+     * 아직 제출하지 않은 초안(submittedAt 없음)은 포함하지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SubmissionSummaryDTO> listAdminQueuePage(Integer departmentId,
+                                                                  @Nullable List<SubmissionStatus> statuses,
+                                                                  @Nullable String cursor,
+                                                                  int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_QUEUE_PAGE_SIZE));
+        Pageable oneMore = PageRequest.of(0, pageSize + 1);   // 한 건 더 읽어서 다음 페이지 여부 판단
+
+        List<SubmissionQueueRowDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            requireDepartment(departmentId);
+            rows = submissionRepository.findQueueFirstPage(departmentId, statusesOrAll(statuses), oneMore);
         } else {
-            list = submissionRepository.findByDocType_DepartmentAndStatusInOrderBySubmittedAtDesc(dept, statuses);
+            SubmissionCursor after = SubmissionCursor.decode(cursor);
+            rows = submissionRepository.findQueueAfter(departmentId, statusesOrAll(statuses),
+                    after.submittedAt(), after.submissionId(), oneMore);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<SubmissionQueueRowDTO> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            SubmissionQueueRowDTO last = page.get(page.size() - 1);
+            nextCursor = new SubmissionCursor(last.submittedAt(), last.submissionId()).encode();
         }
+        return new CursorPageDTO<>(page.stream().map(AdminSubmissionService::toQueueSummary).toList(), nextCursor, hasNext);
+    }
 
-        return list.stream().map(this::toSummary).toList();
+    private void requireDepartment(Integer departmentId) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "부서를 찾을 수 없습니다.");
+        }
+    }
+
+    private static Collection<SubmissionStatus> statusesOrAll(@Nullable List<SubmissionStatus> statuses) {
+        return (statuses == null || statuses.isEmpty()) ? EnumSet.allOf(SubmissionStatus.class) : statuses;
+    }
+
+    private static SubmissionSummaryDTO toQueueSummary(SubmissionQueueRowDTO row) {
+        return SubmissionSummaryDTO.builder()
+                .submissionId(row.submissionId())
+                .status(row.status())
+                .fileUrl(row.fileUrl())
+                .submittedAt(row.submittedAt() == null ? null : row.submittedAt().toString())
+                .build();
     }
 
 
     @Transactional
-    public SubmissionSummaryDTO approve(Integer submissionId, Member adminMember) {
+    public SubmissionSummaryDTO approve(Integer submissionId, String adminId) {
         Submission s = requireReviewable(submissionId);
-        Admin admin = adminRepository.findByMember(adminMember)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "관리자 권한이 없습니다."));
+        Admin admin = adminRepository.getReferenceById(adminId);   // 로그인 때 확인한 ID → SELECT 없는 프록시
 
 
         s.setStatus(SubmissionStatus.APPROVED);
@@ -155,10 +210,9 @@ public class AdminSubmissionService {
     }
 
     @Transactional
-    public SubmissionSummaryDTO reject(Integer submissionId, Member adminMember, String reason) {
+    public SubmissionSummaryDTO reject(Integer submissionId, String adminId, String reason) {
         Submission s = requireReviewable(submissionId);
-        Admin admin = adminRepository.findByMember(adminMember)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "관리자 권한이 없습니다."));
+        Admin admin = adminRepository.getReferenceById(adminId);
 
         s.setStatus(SubmissionStatus.REJECTED);
         submissionRepository.save(s);
@@ -211,7 +265,8 @@ public class AdminSubmissionService {
                 .build();
     }
 
-    public record FileDownload(String filename, byte[] data) {}
+    /** 다운로드 응답용: 파일은 경로만 넘기고 응답을 쓰면서 디스크에서 읽는다 */
+    public record FileDownload(String filename, Path path, long size) {}
 
     @Transactional(readOnly = true)
     public FileDownload downloadFile(Integer submissionId) {
@@ -222,7 +277,13 @@ public class AdminSubmissionService {
                 .map(SubmissionFile::getFileUrl)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "제출 파일이 없습니다."));
 
-        byte[] bytes = fileStorageService.readBytes(fileUrl);
+        Path path = fileStorageService.resolveReadable(fileUrl);
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (IOException e) {
+            throw new FileStorageService.FileReadException("파일 읽기 실패: " + e.getMessage(), e);
+        }
 
         // URL에서 안전하게 파일명 추출 (디코딩 + 마지막 세그먼트)
         String decoded = URLDecoder.decode(fileUrl, StandardCharsets.UTF_8);
@@ -230,6 +291,6 @@ public class AdminSubmissionService {
         if (filename == null || filename.isBlank()) {
             filename = "submission-" + submissionId;
         }
-        return new FileDownload(filename, bytes);
+        return new FileDownload(filename, path, size);
     }
 }
@@ -0,0 +1,259 @@
+package com.cnu.docserver.submission.service;
+
+import com.cnu.docserver.auth.context.LoginPrincipal;
+import com.cnu.docserver.common.cache.LruCache;
+import com.cnu.docserver.submission.dto.SubmissionSummaryDTO;
+import com.cnu.docserver.submission.entity.IdempotencyRecord;
+import com.cnu.docserver.submission.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 제출 생성/수정/제출 API의 Idempotency-Key 처리.
+ * <p>
+ * 키는 (회원, 엔드포인트, Idempotency-Key) 단위로 구분한다.
+ * <ul>
+ *   <li>같은 노드에서 동시에 온 중복 요청은 먼저 온 요청의 결과를 기다렸다가 같은 응답을 받는다.</li>
+ *   <li>끝난 요청의 응답은 메모리 LRU → idempotency_keys 테이블 순서로 찾아 그대로 돌려준다.</li>
+ *   <li>처리 결과 기록은 실제 작업과 같은 트랜잭션에서 커밋되므로, "작업은 됐는데 키는 미완료"인 상태가 남지 않는다.</li>
+ *   <li>작업이 실패하면 키를 지워 클라이언트가 같은 키로 다시 시도할 수 있게 한다.</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+
+    private final LruCache<String, Completed> completed;
+    private final Map<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+
+    // expiresAt: DB 기록과 같은 만료 시각. 지나면 메모리에 남아 있어도 재사용하지 않는다
+    private record Completed(String requestHash, SubmissionSummaryDTO response, LocalDateTime expiresAt) {
+
+        boolean expired() {
+            return expiresAt.isBefore(LocalDateTime.now());
+        }
+    }
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${submission.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${submission.idempotency.lock-timeout:PT2M}") Duration lockTimeout,
+                              @Value("${submission.idempotency.memory-size:1000}") int memorySize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.completed = new LruCache<>(memorySize);
+    }
+
+    public SubmissionSummaryDTO execute(String key, String endpoint, String fingerprint,
+                                        Supplier<SubmissionSummaryDTO> work) {
+        return execute(key, endpoint, fingerprint, () -> null, ignored -> work.get());
+    }
+
+    /**
+     * @param key         Idempotency-Key 헤더 값 (없으면 그냥 실행)
+     * @param endpoint    "POST /api/submissions" 처럼 요청을 구분하는 문자열
+     * @param fingerprint 요청 본문 요약. 같은 키로 다른 요청이 오면 422
+     * @param prepare     트랜잭션 밖에서 할 준비 작업 (예: 파일 스테이징). 중복 요청이면 실행되지 않는다
+     * @param work        트랜잭션 안에서 할 실제 작업
+     */
+    public <P> SubmissionSummaryDTO execute(String key, String endpoint, String fingerprint,
+                                            Supplier<P> prepare, Function<P, SubmissionSummaryDTO> work) {
+        if (key == null || key.isBlank()) {
+            return work.apply(prepare.get());
+        }
+        if (key.length() > 255) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key 는 255자 이하여야 합니다.");
+        }
+        String scope = sha256(LoginPrincipal.current().memberId() + "\n" + endpoint + "\n" + key.trim());
+        String requestHash = sha256(fingerprint == null ? "" : fingerprint);
+
+        Optional<Completed> cached = completed.get(scope);
+        if (cached.isPresent()) {
+            if (!cached.get().expired()) {
+                return replay(cached.get(), requestHash);
+            }
+            completed.invalidate(scope);   // 만료된 키는 DB 기록처럼 새 요청으로 이어받는다
+        }
+
+        CompletableFuture<Completed> mine = new CompletableFuture<>();
+        CompletableFuture<Completed> running = inFlight.putIfAbsent(scope, mine);
+        if (running != null) {
+            return replay(awaitFirst(running), requestHash);
+        }
+
+        boolean locked = false;
+        try {
+            Completed previous = tx.execute(status -> lockOrFindCompleted(scope, requestHash));
+            if (previous != null) {
+                completed.put(scope, previous);
+                mine.complete(previous);
+                return replay(previous, requestHash);
+            }
+            locked = true;
+
+            P prepared = prepare.get();
+            Completed done = tx.execute(status -> {
+                SubmissionSummaryDTO r = work.apply(prepared);   // @Transactional 서비스 메서드가 이 트랜잭션에 합류
+                return markCompleted(scope, requestHash, r);
+            });
+
+            completed.put(scope, done);
+            mine.complete(done);
+            return done.response();
+        } catch (RuntimeException e) {
+            if (locked) {
+                release(scope);
+            }
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope, mine);
+        }
+    }
+
+    /** 만료된 키 정리 */
+    @Scheduled(fixedDelayString = "${submission.idempotency.purge-interval-ms:3600000}", initialDelay = 300000)
+    public void purgeExpired() {
+        Integer removed = tx.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        if (removed != null && removed > 0) {
+            log.info("🧹 Removed {} expired idempotency key(s)", removed);
+        }
+    }
+
+    // 완료된 기록이 있으면 돌려주고, 없으면 IN_PROGRESS 로 잡는다
+    private Completed lockOrFindCompleted(String scope, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyRecord> existing = repository.findByScopeKey(scope);
+        if (existing.isPresent()) {
+            IdempotencyRecord r = existing.get();
+            boolean expired = r.getExpiresAt().isBefore(now);
+            if (!expired && r.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                return new Completed(r.getRequestHash(), fromJson(r.getResponseJson()), r.getExpiresAt());
+            }
+            if (!expired && r.getLockedUntil().isAfter(now)) {
+                // 다른 노드에서 처리 중
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+            }
+            // 만료됐거나 처리하던 노드가 죽은 기록 → 이어받기
+            r.setStatus(IdempotencyRecord.Status.IN_PROGRESS);
+            r.setRequestHash(requestHash);
+            r.setResponseJson(null);
+            r.setLockedUntil(now.plus(lockTimeout));
+            r.setExpiresAt(now.plus(ttl));
+            return null;
+        }
+        try {
+            repository.saveAndFlush(IdempotencyRecord.builder()
+                    .scopeKey(scope)
+                    .requestHash(requestHash)
+                    .status(IdempotencyRecord.Status.IN_PROGRESS)
+                    .lockedUntil(now.plus(lockTimeout))
+                    .expiresAt(now.plus(ttl))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+        return null;
+    }
+
+    private Completed markCompleted(String scope, String requestHash, SubmissionSummaryDTO response) {
+        IdempotencyRecord r = repository.findByScopeKey(scope)
+                .orElseThrow(() -> new IllegalStateException("Idempotency record disappeared: " + scope));
+        r.setStatus(IdempotencyRecord.Status.COMPLETED);
+        r.setResponseJson(toJson(response));
+        return new Completed(requestHash, response, r.getExpiresAt());
+    }
+
+    private void release(String scope) {
+        try {
+            tx.executeWithoutResult(status -> repository.deleteInProgress(scope));
+        } catch (RuntimeException e) {
+            // 지우지 못해도 lock-timeout 이 지나면 다음 요청이 이어받는다
+            log.warn("⚠️ Failed to release idempotency key {}: {}", scope, e.getMessage());
+        }
+    }
+
+    private Completed awaitFirst(CompletableFuture<Completed> running) {
+        try {
+            return running.get(lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // 첫 요청이 실패했으면 같은 오류를 돌려준다 (키는 풀렸으므로 클라이언트가 다시 시도 가능)
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청 처리가 중단되었습니다.");
+        }
+    }
+
+    private static SubmissionSummaryDTO replay(Completed done, String requestHash) {
+        if (!done.requestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+        }
+        log.debug("Idempotent replay for submission {}", done.response().getSubmissionId());
+        return done.response();
+    }
+
+    private String toJson(SubmissionSummaryDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SubmissionSummaryDTO fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, SubmissionSummaryDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256(String s) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.cnu.docserver.submission.service;
 
-import com.cnu.docserver.deadline.repository.DeadlineRepository;
+import com.cnu.docserver.auth.context.LoginPrincipal;
+import com.cnu.docserver.common.cache.CatalogCache;
 import com.cnu.docserver.docmanger.entity.DocType;
-import com.cnu.docserver.docmanger.entity.RequiredField;
 import com.cnu.docserver.docmanger.repository.DocTypeRepository;
 import com.cnu.docserver.docmanger.repository.RequiredFieldRepository;
 import com.cnu.docserver.docmanger.service.FileStorageService;
+import com.cnu.docserver.docmanger.service.StagedUploadService;
+import com.cnu.docserver.ocr.ReviewJobService;
 import com.cnu.docserver.ocr.SubmissionReviewOrchestrator;
 import com.cnu.docserver.submission.dto.FieldValueInputDTO;
 import com.cnu.docserver.submission.dto.SubmissionSummaryDTO;
@@ -22,7 +24,6 @@ import com.cnu.docserver.submission.repository.SubmissionFileRepository;
 import com.cnu.docserver.submission.repository.SubmissionHistoryRepository;
 import com.cnu.docserver.submission.repository.SubmissionRepository;
 import com.cnu.docserver.user.entity.Admin;
-import com.cnu.docserver.user.entity.Member;
 import com.cnu.docserver.user.entity.Student;
 import com.cnu.docserver.user.repository.StudentRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -36,7 +37,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
@@ -54,14 +56,16 @@ public class SubmissionService {
     private final SubmissionRepository submissionRepository;
     private final ApplicationEventPublisher eventPublisher;
 
-    private final DeadlineRepository deadlineRepository;
+    private final CatalogCache catalogCache;
 
     private final FileStorageService fileStorageService;
+    private final StagedUploadService stagedUploadService;
     private final RequiredFieldRepository requiredFieldRepository;
 
     private final SubmissionFileRepository submissionFileRepository;
     private final SubmissionFieldValueRepository submissionFieldValueRepository;
     private final SubmissionHistoryRepository submissionHistoryRepository;
+    private final ReviewJobService reviewJobService;
 
     // SubmissionReviewOrchestrator를 직접 호출하지 않으므로 주석 처리하거나 제거 가능
     private final SubmissionReviewOrchestrator submissionReviewOrchestrator;
@@ -70,56 +74,66 @@ public class SubmissionService {
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
     // === 1) 최초 제출 ===
+    // 파일은 미리 스테이징(/api/submissions/uploads)된 토큰으로 받는다. 트랜잭션 안에서는 하드 링크 하나만 만든다.
+    // 롤백되면 옮긴 파일은 지우고 토큰은 되살아나므로, 같은 토큰으로 다시 제출할 수 있다.
     @Transactional
-    public SubmissionSummaryDTO create(Integer docTypeId, String fieldsJson, MultipartFile file) {
-        // 1) 로그인 학생 조회
+    public SubmissionSummaryDTO create(Integer docTypeId, String fieldsJson, String uploadToken) {
+        // 1) 로그인 학생 (로그인 때 확인한 ID로 프록시만 만든다)
         String studentId = currentStudentId();
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "학생 정보를 찾을 수 없습니다."));
+        Student student = studentRepository.getReferenceById(studentId);
 
-        // 2) 문서 유형
-        DocType docType = docTypeRepository.findById(docTypeId)
+        // 2) 문서 유형 (존재 확인은 캐시로, 연관관계는 SELECT 없는 프록시로)
+        catalogCache.docType(docTypeId)
                 .orElseThrow(()->new ResponseStatusException(HttpStatus.NOT_FOUND, "문서 유형을 찾을 수 없습니다."));
+        DocType docType = docTypeRepository.getReferenceById(docTypeId);
 
         // 3) 마감일 1차 체크
-        ensureNotPastDeadline(docType);
+        ensureNotPastDeadline(docTypeId);
 
         // 4) 파일 필수
-        if (file == null || file.isEmpty()) {
+        if (uploadToken == null || uploadToken.isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일은 필수입니다.");
         }
+        StagedUploadService.ClaimedUpload staged = stagedUploadService.claim(uploadToken, studentId);
 
-        // 5) 제출 생성(DRAFT)
+        // 5) 제출 생성: 최종 상태(BOT_REVIEW)로 한 번만 저장
+        //    ID는 id_generators에서 미리 할당되므로 INSERT 없이도 파일 경로를 만들 수 있고,
+        //    아래 INSERT들은 커밋 시점에 JDBC 배치로 묶여 나간다.
+        LocalDateTime now = LocalDateTime.now();
         Submission submission = Submission.builder()
                 .student(student)
                 .docType(docType)
-                .status(SubmissionStatus.DRAFT)
+                .status(SubmissionStatus.BOT_REVIEW)
+                .submittedAt(now)
                 .build();
         submissionRepository.save(submission);
 
-        // 6) 파일/필드 upsert
-        upsertFile(submission, file);
-        upsertFieldValues(submission, parseFields(fieldsJson), docType);
-
-        // 7) 제출 전이 (학생 제출) -> SUBMITTED
-        submission.setStatus(SubmissionStatus.SUBMITTED);
-        submission.setSubmittedAt(LocalDateTime.now());
-        submissionRepository.save(submission);
-
-
-        // 8) 이력 기록: SUBMITTED (학생 제출)
+        // 6) 파일/필드 저장 (새 제출이라 기존 값 조회/삭제 없음)
+        FileStorageService.StoredFile stored = fileStorageService.saveSubmission(submission.getSubmissionId(), staged);
+        deleteOnRollback(stored);
+        submissionFileRepository.save(SubmissionFile.builder()
+                .submission(submission)
+                .fileUrl(stored.url())
+                .contentSha256(stored.sha256())
+                .fileSize(stored.size())
+                .uploadedAt(now)
+                .build());
+        insertFieldValues(submission, parseFields(fieldsJson), docTypeId);
+
+        // 7) 이력 기록: SUBMITTED (학생 제출)
         writeHistory(submission, null, HistoryAction.SUBMITTED, "학생 제출");
 
-        // 9) 서버가 곧바로 UNDER_REVIEW로 전환
-        submission.setStatus(SubmissionStatus.BOT_REVIEW);
-        submissionRepository.save(submission);
-
-        // 10) OCR 프로세스를 비동기 실행하는 대신, 이벤트를 발행합니다.
-        // 이 이벤트는 현재 트랜잭션이 성공적으로 커밋된 후에만 리스너를 트리거합니다.
-//        submissionReviewOrchestrator.runBotReview(submission.getSubmissionId());
+        // 8) OCR 작업을 같은 트랜잭션에서 대기열에 기록하고(재기동해도 유실 없음),
+        // 커밋 후 워커가 바로 가져가도록 이벤트를 발행합니다.
+        reviewJobService.enqueue(submission);
         eventPublisher.publishEvent(new SubmissionCreatedEvent(this, submission.getSubmissionId()));
 
-        return toSummary(submission);
+        return SubmissionSummaryDTO.builder()
+                .submissionId(submission.getSubmissionId())
+                .status(submission.getStatus())
+                .fileUrl(stored.url())
+                .submittedAt(now.toString())
+                .build();
     }
 
     public String getCurrentStudentId() {
@@ -127,18 +141,18 @@ public class SubmissionService {
     }
     // === 2) 반려 후 수정(덮어쓰기) ===
     @Transactional
-    public SubmissionSummaryDTO update(Integer submissionId, String fieldsJson, MultipartFile file) {
+    public SubmissionSummaryDTO update(Integer submissionId, String fieldsJson, String uploadToken) {
         Submission s = requireSubmission(submissionId);
         mustBeOneOf(s, SubmissionStatus.DRAFT, SubmissionStatus.REJECTED);
 
         boolean changed = false;
 
-        if (file != null && !file.isEmpty()) {
-            upsertFile(s, file);
+        if (uploadToken != null && !uploadToken.isBlank()) {
+            upsertFile(s, stagedUploadService.claim(uploadToken, s.getStudent().getStudentId()));
             changed = true;
         }
         if (fieldsJson != null && !fieldsJson.isBlank()) {
-            upsertFieldValues(s, parseFields(fieldsJson), s.getDocType());
+            upsertFieldValues(s, parseFields(fieldsJson), s.getDocType().getDocTypeId());
             changed = true;
         }
 
@@ -161,7 +175,7 @@ public class SubmissionService {
         }
 
         // 마감 체크
-        ensureNotPastDeadline(s.getDocType());
+        ensureNotPastDeadline(s.getDocType().getDocTypeId());
 
         SubmissionStatus prev = s.getStatus();
 
@@ -184,9 +198,11 @@ public class SubmissionService {
             // 검증 건너뜀 → 관리자 대기 큐 유지(SUBMITTED 유지)
             // 아무 것도 안 함
         } else {
-            // 기본: 챗봇 검수로 전환
+            // 기본: 챗봇 검수로 전환 + OCR 작업 대기열 기록
             s.setStatus(SubmissionStatus.BOT_REVIEW);
             submissionRepository.save(s);
+            reviewJobService.enqueue(s);
+            eventPublisher.publishEvent(new SubmissionCreatedEvent(this, s.getSubmissionId()));
         }
 
         // (참고) 챗봇 검수 통과 시: BOT API에서 BOT_REVIEW -> SUBMITTED 로 바꿔 관리자 큐에 올림
@@ -204,22 +220,15 @@ public class SubmissionService {
 
     // 로그인 학생 검증
     private String currentStudentId() {
-        var auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !(auth.getPrincipal() instanceof Member m)) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
-        }
-        return studentRepository.findByMember(m)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "학생 정보를 찾을 수 없습니다."))
-                .getStudentId();
+        return LoginPrincipal.current().requireStudentId();
     }
 
 
     //  마감일 검증: deadline이 없거나(null) 오늘이 마감일보다 늦지 않으면(<=) 통과
-    private void ensureNotPastDeadline(DocType docType) {
-        deadlineRepository.findByDocType(docType).ifPresent(deadline -> {
-            LocalDate d = deadline.getDeadline();
+    private void ensureNotPastDeadline(Integer docTypeId) {
+        catalogCache.deadline(docTypeId).ifPresent(d -> {
             LocalDate today = LocalDate.now(KST);
-            if (d != null && today.isAfter(d)) {
+            if (today.isAfter(d)) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "마감일이 지났습니다.");
             }
         });
@@ -260,52 +269,124 @@ public class SubmissionService {
         throw new ResponseStatusException(HttpStatus.CONFLICT, "현재 상태에서 허용되지 않는 작업입니다.");
     }
 
-    private void upsertFile(Submission submission, MultipartFile file) {
+    private void upsertFile(Submission submission, StagedUploadService.ClaimedUpload staged) {
 
-        String newUrl = fileStorageService.saveSubmission(submission.getSubmissionId(),file);
+        // 같은 이름으로 다시 올려도 새 경로에 저장되므로 기존 파일은 커밋 전까지 그대로 남는다
+        FileStorageService.StoredFile stored = fileStorageService.saveSubmission(submission.getSubmissionId(), staged);
+        deleteOnRollback(stored);
 
         submissionFileRepository.findBySubmission(submission).ifPresentOrElse(existing->{
-            safeDelete(existing.getFileUrl());
-            existing.setFileUrl(newUrl);
+            // 기존 파일이 디스크에 없었으면 같은 경로에 저장될 수 있으므로 방금 저장한 파일을 지우지 않게
+            if (!stored.url().equals(existing.getFileUrl())) {
+                deleteAfterCommit(existing.getFileUrl(), existing.getContentSha256());
+            }
+            existing.setFileUrl(stored.url());
+            existing.setContentSha256(stored.sha256());
+            existing.setFileSize(stored.size());
             existing.setUploadedAt(LocalDateTime.now());
             submissionFileRepository.save(existing);
         },()->{
             submissionFileRepository.save(
                     SubmissionFile.builder()
                             .submission(submission)
-                            .fileUrl(newUrl)
+                            .fileUrl(stored.url())
+                            .contentSha256(stored.sha256())
+                            .fileSize(stored.size())
                             .uploadedAt(LocalDateTime.now())
                             .build()
             );
         });
 
     }
-    private void safeDelete(String url){
-        try{
-            fileStorageService.deleteByUrl(url);
-        }catch(Exception ignored){}
+    // 새로 옮긴 파일은 트랜잭션이 롤백되면 가리키는 행이 없으므로 지운다
+    private void deleteOnRollback(FileStorageService.StoredFile stored) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) safeDelete(stored.url(), stored.sha256());
+            }
+        });
     }
-    private void upsertFieldValues(Submission submission, List<FieldValueInputDTO> inputs, DocType docType) {
-
-        // 기존 값 전체 삭제 후 다시 저장 (덮어쓰기 정책)
-        submissionFieldValueRepository.deleteBySubmission(submission);
-        if (inputs == null || inputs.isEmpty()) return;
 
-        // 해당 문서 유형의 필수항목 정의 불러오기
-        List<RequiredField> defined = requiredFieldRepository.findByDocType(docType);
+    // 교체된 기존 파일은 커밋된 뒤에만 지운다 (롤백되면 기존 행이 계속 이 파일을 가리킨다)
+    private void deleteAfterCommit(String url, String sha256) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            safeDelete(url, sha256);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                safeDelete(url, sha256);
+            }
+        });
+    }
 
-        // field_name(=RequiredField.fieldName) → RequiredField 매핑
-        Map<String, RequiredField> byName = new HashMap<>();
-        for (RequiredField rf : defined) {
-            String name = rf.getFieldName();
-            if (name != null && !name.isBlank()) {
-                byName.put(name, rf);
+    private void safeDelete(String url, String sha256){
+        try{
+            fileStorageService.deleteByUrl(url, sha256);
+        }catch(Exception ignored){}
+    }
+    // 기존 값과 비교해서 바뀐 것만 반영 (덮어쓰기 정책: 입력에 없는 필드는 삭제)
+    //  - 같은 값: 아무것도 안 함
+    //  - 바뀐 값: 관리 중인 엔티티 수정 → 커밋 때 UPDATE가 JDBC 배치로 나감
+    //  - 없어진 필드: DELETE ... WHERE id IN (...) 한 번
+    //  - 새 필드: 배치 INSERT
+    private void upsertFieldValues(Submission submission, List<FieldValueInputDTO> inputs, Integer docTypeId) {
+        Map<String, String> incoming = validateFields(inputs);
+        Map<String, Integer> fieldIds = catalogCache.requiredFieldIds(docTypeId);
+
+        List<Integer> toDelete = new ArrayList<>();
+        for (SubmissionFieldValue existing : submissionFieldValueRepository.findBySubmission(submission)) {
+            String value = incoming.remove(existing.getFieldName());   // 같은 이름이 두 번 있던 옛 데이터는 두 번째부터 삭제
+            if (value == null) {
+                toDelete.add(existing.getSubmissionFieldValueId());
+                continue;
+            }
+            if (!Objects.equals(existing.getFieldValue(), value)) {
+                existing.setFieldValue(value);
             }
+            Integer fieldId = fieldIds.get(existing.getFieldName());
+            Integer currentId = existing.getRequiredField() == null ? null : existing.getRequiredField().getRequiredFieldId();
+            if (!Objects.equals(currentId, fieldId)) {
+                existing.setRequiredField(fieldId == null ? null : requiredFieldRepository.getReferenceById(fieldId));
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            submissionFieldValueRepository.deleteAllByIdInBatch(toDelete);
         }
 
+        saveNewFieldValues(submission, incoming, fieldIds);
+    }
+
+    private void insertFieldValues(Submission submission, List<FieldValueInputDTO> inputs, Integer docTypeId) {
+        Map<String, String> incoming = validateFields(inputs);
+        if (incoming.isEmpty()) return;
+        saveNewFieldValues(submission, incoming, catalogCache.requiredFieldIds(docTypeId));
+    }
+
+    private void saveNewFieldValues(Submission submission, Map<String, String> values, Map<String, Integer> fieldIds) {
+        if (values.isEmpty()) return;
         List<SubmissionFieldValue> rows = new ArrayList<>();
+        values.forEach((label, value) -> {
+            // field_name 기준 매칭 (정의된 필드가 있으면 FK 연결, 없으면 null)
+            Integer fieldId = fieldIds.get(label);
+            rows.add(SubmissionFieldValue.builder()
+                    .submission(submission)
+                    .requiredField(fieldId == null ? null : requiredFieldRepository.getReferenceById(fieldId))
+                    .fieldName(label)      // DB column field_name (NOT NULL)
+                    .fieldValue(value)
+                    .build());
+        });
+        submissionFieldValueRepository.saveAll(rows);
+    }
+
+    // 필수 검증: label(field_name), value → 입력 순서를 유지한 label → value (같은 label은 마지막 값)
+    private static Map<String, String> validateFields(List<FieldValueInputDTO> inputs) {
+        Map<String, String> out = new LinkedHashMap<>();
+        if (inputs == null) return out;
         for (FieldValueInputDTO in : inputs) {
-            // 1) 필수 검증: label(field_name), value
             String label = (in.getLabel() == null) ? null : in.getLabel().trim();
             if (label == null || label.isBlank()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "field_name(label)은 필수입니다.");
@@ -313,19 +394,9 @@ public class SubmissionService {
             if (in.getValue() == null) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "value는 필수입니다.");
             }
-
-            // 2) field_name 기준 매칭 (정의된 필드가 있으면 FK 연결)
-            RequiredField rf = byName.get(label);
-
-            rows.add(SubmissionFieldValue.builder()
-                    .submission(submission)
-                    .requiredField(rf)     // 매칭되면 FK 세팅, 없으면 null (FK가 NOT NULL이면 여기서 400 던지세요)
-                    .fieldName(label)      // DB column field_name (NOT NULL)
-                    .fieldValue(in.getValue())
-                    .build());
+            out.put(label, in.getValue());
         }
-
-        submissionFieldValueRepository.saveAll(rows);
+        return out;
     }
 
     private List<FieldValueInputDTO> parseFields(String fieldsJson) {
@@ -0,0 +1,19 @@
+-- 제출/필드 값/이력 ID 미리 할당(@TableGenerator, allocationSize = 50). ddl-auto: none 이므로 배포 전에 수동 적용
+-- next_val 은 기존 최대 ID + allocationSize 보다 커야 기존 행과 겹치지 않는다.
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name VARCHAR(64) NOT NULL,
+    next_val BIGINT      NOT NULL,
+    PRIMARY KEY (gen_name)
+);
+
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'submissions', COALESCE(MAX(submission_id), 0) + 100 FROM submissions
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'submission_field_values', COALESCE(MAX(submission_field_value_id), 0) + 100 FROM submission_field_values
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'submission_histories', COALESCE(MAX(submission_history_id), 0) + 100 FROM submission_histories
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
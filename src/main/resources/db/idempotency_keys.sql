@@ -0,0 +1,14 @@
+-- 제출 API Idempotency-Key 저장소. ddl-auto: none 이므로 배포 전에 수동 적용
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    scope_key     CHAR(64)    NOT NULL,
+    request_hash  CHAR(64)    NOT NULL,
+    status        VARCHAR(16) NOT NULL,
+    response_json TEXT        NULL,
+    locked_until  DATETIME(6) NOT NULL,
+    expires_at    DATETIME(6) NOT NULL,
+    created_at    DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_idempotency_keys_scope (scope_key),
+    KEY idx_idempotency_keys_expires (expires_at)
+);
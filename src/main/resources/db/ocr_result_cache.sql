@@ -0,0 +1,13 @@
+-- 내용 해시 기반 OCR 결과 캐시. ddl-auto: none 이므로 배포 전에 수동 적용
+CREATE TABLE IF NOT EXISTS ocr_result_cache (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    content_hash  CHAR(64)    NOT NULL,
+    doc_type_id   INT         NOT NULL,
+    model_version VARCHAR(64) NOT NULL,
+    verdict       VARCHAR(32) NOT NULL,
+    findings_json TEXT        NULL,
+    reason        TEXT        NULL,
+    created_at    DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_ocr_result_cache_key (content_hash, doc_type_id, model_version)
+);
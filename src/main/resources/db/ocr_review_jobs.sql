@@ -0,0 +1,24 @@
+-- OCR 검토 대기열(outbox). ddl-auto: none 이므로 배포 전에 수동 적용
+CREATE TABLE IF NOT EXISTS ocr_review_jobs (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    submission_id INT          NOT NULL,
+    department_id INT          NOT NULL,
+    due_date      DATE         NOT NULL DEFAULT '9999-12-31',  -- 마감일 없음 = 9999-12-31 (인덱스 순서로 맨 뒤)
+    status        VARCHAR(20)  NOT NULL,
+    attempts      INT          NOT NULL DEFAULT 0,
+    available_at  DATETIME(6)  NOT NULL,
+    lease_owner   VARCHAR(100) NULL,
+    lease_until   DATETIME(6)  NULL,
+    last_error    VARCHAR(500) NULL,
+    created_at    DATETIME(6)  NOT NULL,
+    updated_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_ocr_review_jobs_claim (status, available_at, id),
+    KEY idx_ocr_review_jobs_department (status, department_id, due_date, id, available_at),
+    KEY idx_ocr_review_jobs_lease (status, lease_until),
+    KEY idx_ocr_review_jobs_submission (submission_id),
+    CONSTRAINT fk_ocr_review_jobs_submission FOREIGN KEY (submission_id) REFERENCES submissions (submission_id)
+);
+
+-- department_id/due_date 가 없던 예전 테이블은 ocr_review_jobs_department.sql 로 이관
+-- due_date 가 NULL 허용이던 테이블은 ocr_review_jobs_department.sql 맨 아래 주석 부분만 실행
@@ -0,0 +1,29 @@
+-- ocr_review_jobs 에 학과별 공정 배분/마감일 정렬 컬럼 추가. ddl-auto: none 이므로 배포 전에 수동 적용
+-- department_id/due_date 가 없던 예전 ocr_review_jobs 테이블에 한 번만 실행한다
+-- (ocr_review_jobs.sql 로 새로 만든 테이블에는 이미 있으므로 실행하지 않음)
+-- 마감일 없음 = 9999-12-31: NULL 을 쓰면 "NULL 은 맨 뒤" 정렬이 식(due_date IS NULL)이 되어 가져갈 때마다 filesort 한다
+ALTER TABLE ocr_review_jobs
+    ADD COLUMN department_id INT  NULL AFTER submission_id,
+    ADD COLUMN due_date      DATE NULL AFTER department_id;
+
+-- 기존 작업 채우기: 제출 → 문서 유형의 학과, 문서 유형의 마감일(없으면 9999-12-31)
+UPDATE ocr_review_jobs j
+    JOIN submissions s ON s.submission_id = j.submission_id
+    JOIN doc_types dt ON dt.doc_type_id = s.doc_type_id
+    LEFT JOIN deadlines d ON d.doc_type_id = s.doc_type_id
+SET j.department_id = dt.department_id,
+    j.due_date      = COALESCE(d.deadline, '9999-12-31');
+
+ALTER TABLE ocr_review_jobs
+    MODIFY department_id INT  NOT NULL,
+    MODIFY due_date      DATE NOT NULL DEFAULT '9999-12-31';
+
+-- available_at 을 인덱스 끝에 두어 재시도 대기 중인 행은 테이블을 읽지 않고 인덱스에서 거른다
+CREATE INDEX idx_ocr_review_jobs_department
+    ON ocr_review_jobs (status, department_id, due_date, id, available_at);
+
+-- 이미 due_date NULL 허용 + (status, department_id, due_date, id) 인덱스로 이관했던 테이블은 위 대신 아래만 실행
+-- UPDATE ocr_review_jobs SET due_date = '9999-12-31' WHERE due_date IS NULL;
+-- ALTER TABLE ocr_review_jobs MODIFY due_date DATE NOT NULL DEFAULT '9999-12-31';
+-- DROP INDEX idx_ocr_review_jobs_department ON ocr_review_jobs;
+-- CREATE INDEX idx_ocr_review_jobs_department ON ocr_review_jobs (status, department_id, due_date, id, available_at);
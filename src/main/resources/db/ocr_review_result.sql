@@ -0,0 +1,21 @@
+-- 구조화된 OCR 검토 결과. ddl-auto: none 이므로 배포 전에 수동 적용
+-- 기존 OCR_DETAIL 메모는 --ocr.backfill.enabled=true 로 한 번 실행해 이관
+CREATE TABLE IF NOT EXISTS ocr_review_result (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    submission_id INT         NOT NULL,
+    verdict       VARCHAR(32) NOT NULL,
+    findings_json TEXT        NULL,
+    reason        TEXT        NULL,
+    debug_text    TEXT        NULL,
+    latency_ms    BIGINT      NULL,
+    created_at    DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    KEY idx_ocr_review_result_submission (submission_id, created_at, id),
+    CONSTRAINT fk_ocr_review_result_submission FOREIGN KEY (submission_id) REFERENCES submissions (submission_id)
+);
+
+-- 테이블이 이미 있던 경우
+-- ALTER TABLE ocr_review_result ADD COLUMN latency_ms BIGINT NULL;
+-- (submission_id, id) 로 먼저 만들었던 경우 먼저 지운다: 백필 결과가 최신으로 잡히지 않도록 created_at 순으로 조회한다
+-- DROP INDEX idx_ocr_review_result_submission ON ocr_review_result;
+-- CREATE INDEX idx_ocr_review_result_submission ON ocr_review_result (submission_id, created_at, id);
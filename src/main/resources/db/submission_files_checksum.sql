@@ -0,0 +1,4 @@
+-- 업로드 시 계산한 내용 해시/크기. ddl-auto: none 이므로 배포 전에 수동 적용 (예전 행은 NULL)
+ALTER TABLE submission_files
+    ADD COLUMN content_sha256 CHAR(64) NULL,
+    ADD COLUMN file_size      BIGINT   NULL;
@@ -0,0 +1,15 @@
+-- 관리자 검토 목록 keyset 페이지용 인덱스. ddl-auto: none 이므로 배포 전에 수동 적용
+-- 학과 목록은 doc_types 와 조인해 그 학과의 doc_type_id 여러 개를 읽으므로, 이 인덱스로는
+-- doc_type_id 마다 (submitted_at, submission_id) 범위 스캔 + 커서 조건 (submitted_at, submission_id) < (?, ?) 까지만 처리한다.
+-- 여러 문서 유형의 결과를 합치는 ORDER BY submitted_at DESC, submission_id DESC 는 여전히 filesort
+-- (LIMIT 이 있어 상위 N 건만 정렬). 인덱스 순서로 읽으려면 submissions 에 department_id 를 따로 두고
+-- (department_id, submitted_at, submission_id) 인덱스를 써야 한다.
+CREATE INDEX idx_submissions_doc_type_submitted
+    ON submissions (doc_type_id, submitted_at, submission_id);
+
+-- 학생 본인 제출 목록(/my, /my/page) keyset 페이지용: 학생 한 명의 제출을 (submitted_at, submission_id) 순서대로 읽는다
+CREATE INDEX idx_submissions_student_submitted
+    ON submissions (student_id, submitted_at, submission_id);
+
+-- 목록에서 파일 URL 을 같이 읽는 조인용 (FK 인덱스가 이미 있으면 생략)
+-- CREATE INDEX idx_submission_files_submission ON submission_files (submission_id);
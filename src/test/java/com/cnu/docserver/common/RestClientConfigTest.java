@@ -0,0 +1,155 @@
+package com.cnu.docserver.common;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OCR 커넥션 풀이 로컬 스텁 서버(JDK HttpServer, 임의 포트)에 대해
+ * keep-alive 커넥션을 재사용하고, 동시 커넥션을 maxPerRoute 로 제한하며,
+ * 임대 대기 시간/풀 지표를 기록하는지 확인한다.
+ */
+class RestClientConfigTest {
+
+    private static final int MAX_PER_ROUTE = 2;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private SimpleMeterRegistry registry;
+    private ClientHttpRequestFactory factory;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/ocr/review", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        registry = new SimpleMeterRegistry();
+        factory = new RestClientConfig().ocrRequestFactory(
+                "HTTP_1_1", MAX_PER_ROUTE,
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(10),
+                registry);
+        restTemplate = new RestTemplate(factory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        if (factory instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void sequentialCallsReuseOneConnection() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(restTemplate.getForObject(baseUrl + "/ocr/review", String.class)).isEqualTo("ok");
+        }
+
+        assertThat(clientPorts).hasSize(1);
+        assertThat(registry.get("ocr.http.pool.lease").timer().count()).isEqualTo(5);
+        assertThat(gauge("ocr.http.pool.leased")).isZero();
+        assertThat(gauge("ocr.http.pool.available")).isEqualTo(1);
+        assertThat(gauge("ocr.http.pool.max")).isEqualTo(MAX_PER_ROUTE * 2);
+    }
+
+    @Test
+    void concurrentCallsAreCappedAtMaxPerRoute() throws Exception {
+        int calls = MAX_PER_ROUTE * 3;
+        release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(calls);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                results.add(callers.submit(() -> restTemplate.getForObject(baseUrl + "/ocr/review", String.class)));
+            }
+
+            // 커넥션 2개가 서버에 붙잡혀 있는 동안 나머지는 풀에서 임대를 기다린다
+            awaitUntil(() -> inFlight.get() == MAX_PER_ROUTE && gauge("ocr.http.pool.pending") == calls - MAX_PER_ROUTE);
+            assertThat(gauge("ocr.http.pool.leased")).isEqualTo(MAX_PER_ROUTE);
+
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("ok");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(clientPorts).hasSize(MAX_PER_ROUTE);
+        assertThat(registry.get("ocr.http.pool.lease").timer().count()).isEqualTo(calls);
+        assertThat(gauge("ocr.http.pool.pending")).isZero();
+        assertThat(gauge("ocr.http.pool.leased")).isZero();
+        assertThat(gauge("ocr.http.pool.available")).isEqualTo(MAX_PER_ROUTE);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        inFlight.incrementAndGet();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("5초 안에 조건을 만족하지 못했습니다");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
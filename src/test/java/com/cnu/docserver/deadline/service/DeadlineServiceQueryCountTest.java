@@ -0,0 +1,82 @@
+package com.cnu.docserver.deadline.service;
+
+import com.cnu.docserver.common.cache.CatalogCache;
+import com.cnu.docserver.deadline.dto.DeadlineStatusDTO;
+import com.cnu.docserver.deadline.dto.DepartmentDeadlinesDTO;
+import com.cnu.docserver.deadline.entity.Deadline;
+import com.cnu.docserver.department.entity.Department;
+import com.cnu.docserver.docmanger.entity.DocType;
+import com.cnu.docserver.ocr.ReviewJobService;
+import com.cnu.docserver.support.QueryCountSupport;
+import com.cnu.docserver.support.QueryCountSupport.Measured;
+import com.cnu.docserver.support.QueryCountTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 문서 유형이 수백 개인 부서에서도 마감일 목록이 쿼리 1번으로 끝나는지 확인한다.
+ * (예전 구현은 문서 유형마다 마감일을 따로 조회해 1 + N 번)
+ */
+@QueryCountTest
+@Import(DeadlineService.class)
+class DeadlineServiceQueryCountTest {
+
+    private static final int DOC_TYPES_PER_DEPARTMENT = 300;
+
+    @Autowired DeadlineService deadlineService;
+    @Autowired EntityManager em;
+    @Autowired QueryCountSupport db;
+
+    @MockitoBean ReviewJobService reviewJobService;
+    @MockitoBean CatalogCache catalogCache;
+
+    @Test
+    void departmentListingIsSingleQuery() {
+        Department dept = givenDepartmentWithDocTypes("대형학과");
+
+        Measured<List<DeadlineStatusDTO>> result = db.measure(() -> deadlineService.getDeadlineByDepartment(dept.getDepartmentId()));
+
+        assertThat(result.value()).hasSize(DOC_TYPES_PER_DEPARTMENT);
+        // 짝수 번째 문서만 마감일이 있다
+        assertThat(result.value().stream().filter(d -> d.getDeadline() != null)).hasSize(DOC_TYPES_PER_DEPARTMENT / 2);
+        assertThat(result.statements()).isEqualTo(1);
+    }
+
+    @Test
+    void multiDepartmentListingIsSingleQuery() {
+        Department a = givenDepartmentWithDocTypes("학과A");
+        Department b = givenDepartmentWithDocTypes("학과B");
+        Department empty = db.department("문서 없는 학과");
+        em.flush();
+
+        Measured<List<DepartmentDeadlinesDTO>> result = db.measure(() -> deadlineService.getDeadlinesByDepartments(
+                List.of(b.getDepartmentId(), a.getDepartmentId(), empty.getDepartmentId())));
+
+        assertThat(result.value()).extracting(DepartmentDeadlinesDTO::getDepartmentId)
+                .containsExactly(b.getDepartmentId(), a.getDepartmentId(), empty.getDepartmentId());
+        assertThat(result.value().get(0).getDeadlines()).hasSize(DOC_TYPES_PER_DEPARTMENT);
+        assertThat(result.value().get(1).getDeadlines()).hasSize(DOC_TYPES_PER_DEPARTMENT);
+        assertThat(result.value().get(2).getDeadlines()).isEmpty();
+        assertThat(result.statements()).isEqualTo(1);
+    }
+
+    private Department givenDepartmentWithDocTypes(String name) {
+        Department dept = db.department(name);
+        for (int i = 0; i < DOC_TYPES_PER_DEPARTMENT; i++) {
+            DocType docType = db.docType(dept, name + " 서류 " + i);
+            if (i % 2 == 0) {
+                em.persist(Deadline.builder().docType(docType).deadline(LocalDate.now().plusDays(i + 1)).build());
+            }
+        }
+        em.flush();
+        return dept;
+    }
+}
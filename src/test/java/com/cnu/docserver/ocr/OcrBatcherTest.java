@@ -0,0 +1,152 @@
+package com.cnu.docserver.ocr;
+
+import com.cnu.docserver.ocr.OcrClient.OcrDeferredException;
+import com.cnu.docserver.ocr.OcrClient.OcrException;
+import com.cnu.docserver.ocr.OcrClient.OcrResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 배치 실패 시 팔로워들이 자기 파일만 단건으로 다시 검토하는지(fan-out), 배치 결과가 요청 순서대로
+ * 각 호출자에게 돌아가는지, 한 파일의 실패가 다른 파일로 번지지 않는지 확인한다.
+ */
+class OcrBatcherTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final List<String> FILENAMES = List.of("a.pdf", "bad.pdf", "c.pdf");
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(BATCH_SIZE);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void batchResultsGoBackToEachCallerInRequestOrder() throws Exception {
+        StubOcrClient ocr = new StubOcrClient(files -> files.stream().map(OcrBatcherTest::resultFor).toList());
+
+        List<Future<OcrResult>> results = reviewConcurrently(newBatcher(ocr));
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS).getReason()).isEqualTo(FILENAMES.get(i));
+        }
+        assertThat(ocr.batchCalls).hasSize(1);
+        assertThat(ocr.batchCalls.get(0)).containsExactlyInAnyOrderElementsOf(FILENAMES);
+        assertThat(ocr.singleCalls).isEmpty();
+    }
+
+    @Test
+    void failedBatchIsRetriedPerFileAndFailuresStayIsolated() throws Exception {
+        StubOcrClient ocr = new StubOcrClient(files -> {
+            throw new OcrException("OCR 배치 응답 개수 불일치: 요청 3건, 응답 2건");
+        });
+
+        List<Future<OcrResult>> results = reviewConcurrently(newBatcher(ocr));
+
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS).getReason()).isEqualTo("a.pdf");
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS).getReason()).isEqualTo("c.pdf");
+        assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(OcrException.class)
+                .hasRootCauseMessage("bad.pdf 거부");
+        assertThat(ocr.batchCalls).hasSize(1);
+        assertThat(ocr.singleCalls).containsExactlyInAnyOrderElementsOf(FILENAMES);
+    }
+
+    @Test
+    void overloadedBatchFailsEveryMemberWithoutSingleCalls() throws Exception {
+        StubOcrClient ocr = new StubOcrClient(files -> {
+            throw new OcrException("OCR 서버 연결/응답 타임아웃 오류", new ResourceAccessException("Read timed out"));
+        });
+
+        assertEveryMemberFailsWith(ocr, OcrException.class);
+    }
+
+    @Test
+    void deferredBatchFailsEveryMemberWithoutSingleCalls() throws Exception {
+        StubOcrClient ocr = new StubOcrClient(files -> {
+            throw new OcrDeferredException("OCR 동시 호출 한도 초과(limit=1)");
+        });
+
+        assertEveryMemberFailsWith(ocr, OcrDeferredException.class);
+    }
+
+    private void assertEveryMemberFailsWith(StubOcrClient ocr, Class<? extends Throwable> type) throws Exception {
+        List<Future<OcrResult>> results = reviewConcurrently(newBatcher(ocr));
+
+        for (Future<OcrResult> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(type);
+        }
+        assertThat(ocr.batchCalls).hasSize(1);
+        assertThat(ocr.singleCalls).isEmpty();
+    }
+
+    /** max-wait 을 길게 잡아 세 요청이 반드시 한 배치로 묶이게 한다 */
+    private OcrBatcher newBatcher(OcrClient ocr) {
+        return new OcrBatcher(ocr, new SimpleMeterRegistry(), true, BATCH_SIZE,
+                Duration.ofSeconds(5), Duration.ofMinutes(10));
+    }
+
+    private List<Future<OcrResult>> reviewConcurrently(OcrBatcher batcher) {
+        List<Future<OcrResult>> results = new ArrayList<>();
+        for (String filename : FILENAMES) {
+            results.add(callers.submit(() -> batcher.review(Path.of(filename), filename)));
+        }
+        return results;
+    }
+
+    private static OcrResult resultFor(String filename) {
+        OcrResult result = new OcrResult();
+        result.setVerdict("PASS");
+        result.setReason(filename);
+        return result;
+    }
+
+    /** 배치 호출은 주어진 동작대로, 단건 호출은 bad.pdf 만 실패시키는 OCR 클라이언트 */
+    private static class StubOcrClient extends OcrClient {
+
+        final List<List<String>> batchCalls = new CopyOnWriteArrayList<>();
+        final List<String> singleCalls = new CopyOnWriteArrayList<>();
+        private final Function<List<String>, List<OcrResult>> batchBehavior;
+
+        StubOcrClient(Function<List<String>, List<OcrResult>> batchBehavior) {
+            super(null, null);
+            this.batchBehavior = batchBehavior;
+        }
+
+        @Override
+        public OcrResult review(Path file, String filename) {
+            singleCalls.add(filename);
+            if (filename.startsWith("bad")) {
+                throw new OcrException(filename + " 거부");
+            }
+            return resultFor(filename);
+        }
+
+        @Override
+        public List<OcrResult> reviewBatch(List<Path> files, List<String> filenames) {
+            batchCalls.add(List.copyOf(filenames));
+            return batchBehavior.apply(filenames);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.cnu.docserver.submission.service;
+
+import com.cnu.docserver.department.entity.Department;
+import com.cnu.docserver.docmanger.entity.DocType;
+import com.cnu.docserver.docmanger.service.FileStorageService;
+import com.cnu.docserver.submission.dto.SubmissionDetailDTO;
+import com.cnu.docserver.submission.entity.Submission;
+import com.cnu.docserver.submission.entity.SubmissionFile;
+import com.cnu.docserver.submission.entity.SubmissionHistory;
+import com.cnu.docserver.submission.enums.HistoryAction;
+import com.cnu.docserver.submission.enums.SubmissionStatus;
+import com.cnu.docserver.support.QueryCountSupport;
+import com.cnu.docserver.support.QueryCountTest;
+import com.cnu.docserver.user.entity.Admin;
+import com.cnu.docserver.user.entity.Student;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 관리자 제출 상세 조회가 이력 길이/관리자 수와 상관없이 고정된 쿼리 수로 끝나는지 확인한다.
+ * (Hibernate Statistics 의 prepared statement 수로 측정, {@link QueryCountTest})
+ */
+@QueryCountTest
+@Import(AdminSubmissionService.class)
+class AdminSubmissionServiceQueryCountTest {
+
+    private static final long DETAIL_QUERY_COUNT = 3;   // 제출+학생+회원+문서 유형 / 파일 / 이력+관리자+회원
+
+    @Autowired AdminSubmissionService adminSubmissionService;
+    @Autowired EntityManager em;
+    @Autowired QueryCountSupport db;
+
+    @MockitoBean FileStorageService fileStorageService;
+
+    private int seq;
+
+    @Test
+    void detailUsesFixedNumberOfQueries() {
+        Submission small = givenSubmissionWithHistory(1, 1);
+        Submission large = givenSubmissionWithHistory(30, 5);
+
+        long smallCount = db.measure(() -> {
+            SubmissionDetailDTO dto = adminSubmissionService.getDetail(small.getSubmissionId());
+            assertThat(dto.history()).hasSize(1);
+        }).statements();
+        long largeCount = db.measure(() -> {
+            SubmissionDetailDTO dto = adminSubmissionService.getDetail(large.getSubmissionId());
+            assertThat(dto.history()).hasSize(30);
+            assertThat(dto.history()).allSatisfy(h -> assertThat(h.adminName()).startsWith("관리자"));
+            assertThat(dto.studentName()).isEqualTo("학생" + large.getSubmissionId());
+        }).statements();
+
+        assertThat(smallCount).isEqualTo(DETAIL_QUERY_COUNT);
+        assertThat(largeCount).isEqualTo(DETAIL_QUERY_COUNT);
+    }
+
+    // 이력 historyCount 건을 관리자 adminCount 명이 번갈아 남긴 제출을 만들고 영속성 컨텍스트를 비운다
+    private Submission givenSubmissionWithHistory(int historyCount, int adminCount) {
+        Department dept = db.department("학과" + (++seq));
+        DocType docType = db.docType(dept, "서류" + seq);
+        Student student = db.student("2025" + seq, "s" + seq, "s" + seq, dept);
+
+        List<Admin> admins = new ArrayList<>();
+        for (int i = 0; i < adminCount; i++) {
+            admins.add(db.admin("admin" + seq + "-" + i, "a" + seq + "-" + i, "관리자" + i, dept));
+        }
+
+        Submission submission = Submission.builder().student(student).docType(docType)
+                .status(SubmissionStatus.UNDER_REVIEW).submittedAt(LocalDateTime.now()).build();
+        em.persist(submission);
+        student.getMember().setName("학생" + submission.getSubmissionId());
+        em.persist(SubmissionFile.builder().submission(submission)
+                .fileUrl("/uploads/submissions/" + submission.getSubmissionId() + "/file.pdf")
+                .uploadedAt(LocalDateTime.now()).build());
+
+        for (int i = 0; i < historyCount; i++) {
+            em.persist(SubmissionHistory.builder()
+                    .submission(submission)
+                    .admin(admins.get(i % adminCount))
+                    .action(HistoryAction.APPROVED)
+                    .memo("메모 " + i)
+                    .changedAt(LocalDateTime.now().plusSeconds(i))
+                    .build());
+        }
+        em.flush();
+        em.clear();
+        return submission;
+    }
+}
@@ -0,0 +1,191 @@
+package com.cnu.docserver.submission.service;
+
+import com.cnu.docserver.auth.context.LoginPrincipal;
+import com.cnu.docserver.common.cache.CatalogCache;
+import com.cnu.docserver.department.entity.Department;
+import com.cnu.docserver.docmanger.entity.DocType;
+import com.cnu.docserver.docmanger.entity.RequiredField;
+import com.cnu.docserver.docmanger.service.FileStorageService;
+import com.cnu.docserver.docmanger.service.StagedUploadService;
+import com.cnu.docserver.ocr.ReviewJobService;
+import com.cnu.docserver.ocr.SubmissionReviewOrchestrator;
+import com.cnu.docserver.submission.entity.Submission;
+import com.cnu.docserver.submission.entity.SubmissionFieldValue;
+import com.cnu.docserver.submission.entity.SubmissionHistory;
+import com.cnu.docserver.submission.enums.HistoryAction;
+import com.cnu.docserver.submission.enums.SubmissionStatus;
+import com.cnu.docserver.support.QueryCountSupport;
+import com.cnu.docserver.support.QueryCountSupport.Measured;
+import com.cnu.docserver.support.QueryCountTest;
+import com.cnu.docserver.user.entity.Student;
+import com.cnu.docserver.user.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 제출 생성/필드 값 덮어쓰기가 필드 개수와 상관없이 JDBC 배치로 묶인 고정된 쿼리 수로 끝나는지 확인한다.
+ * (배치 설정은 application.yml 그대로, Hibernate Statistics 의 prepared statement 수로 측정, {@link QueryCountTest})
+ * ID 는 id_generators 에서 50개씩 미리 받아 두므로, 측정 전에 한 번 할당을 끝내 두고 측정 구간에서는 할당 왕복이 없게 한다.
+ */
+@QueryCountTest
+@Import(SubmissionService.class)
+class SubmissionServiceQueryCountTest {
+
+    // 제출 INSERT / 파일 INSERT(IDENTITY) / 필드 값 배치 INSERT / 이력 INSERT
+    private static final long CREATE_QUERY_COUNT = 4;
+
+    @Autowired SubmissionService submissionService;
+    @Autowired EntityManager em;
+    @Autowired QueryCountSupport db;
+
+    @MockitoBean CatalogCache catalogCache;
+    @MockitoBean FileStorageService fileStorageService;
+    @MockitoBean StagedUploadService stagedUploadService;
+    @MockitoBean ReviewJobService reviewJobService;
+    @MockitoBean SubmissionReviewOrchestrator submissionReviewOrchestrator;
+
+    private DocType docType;
+    private Student student;
+    private Map<String, Integer> requiredFieldIds;
+
+    @BeforeEach
+    void setUp() {
+        Department dept = db.department("학과");
+        docType = db.docType(dept, "서류");
+        RequiredField name = RequiredField.builder().docType(docType).fieldName("항목0").build();
+        RequiredField number = RequiredField.builder().docType(docType).fieldName("항목1").build();
+        em.persist(name);
+        em.persist(number);
+
+        student = db.student("20250001", "s1", "학생", dept);
+        em.flush();
+        em.clear();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new LoginPrincipal("s1", "학생", Role.STUDENT, student.getStudentId(), null), null, List.of()));
+
+        when(catalogCache.docType(docType.getDocTypeId())).thenReturn(Optional.of(
+                new CatalogCache.DocTypeInfo(docType.getDocTypeId(), dept.getDepartmentId(), docType.getTitle())));
+        when(catalogCache.deadline(docType.getDocTypeId())).thenReturn(Optional.empty());
+        requiredFieldIds = Map.of("항목0", name.getRequiredFieldId(), "항목1", number.getRequiredFieldId());
+        when(catalogCache.requiredFieldIds(docType.getDocTypeId())).thenReturn(requiredFieldIds);
+        when(stagedUploadService.claim(anyString(), anyString()))
+                .thenReturn(new StagedUploadService.ClaimedUpload(Path.of("staged.pdf"), null));
+        when(fileStorageService.saveSubmission(anyInt(), any()))
+                .thenAnswer(inv -> new FileStorageService.StoredFile(
+                        "/uploads/submissions/" + inv.getArgument(0) + "/file.pdf", "0".repeat(64), 1024));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createIsFixedNumberOfBatchedStatements() {
+        // 워밍업: id_generators 행 생성/첫 할당을 측정 밖에서 끝낸다
+        submissionService.create(docType.getDocTypeId(), fieldsJson(0, 1, "v"), "token-0");
+        em.flush();
+
+        Measured<?> one = db.measure(() -> submissionService.create(docType.getDocTypeId(), fieldsJson(0, 1, "v"), "token-1"));
+        assertThat(one.statements()).isEqualTo(CREATE_QUERY_COUNT);
+
+        Measured<?> forty = db.measure(() -> submissionService.create(docType.getDocTypeId(), fieldsJson(0, 40, "v"), "token-2"));
+        assertThat(forty.statements()).isEqualTo(CREATE_QUERY_COUNT);
+        assertThat(forty.inserts()).isEqualTo(3 + 40);   // 제출 + 파일 + 이력 + 필드 40개
+    }
+
+    @Test
+    void upsertWritesOnlyTheDiffInBatches() {
+        Integer submissionId = givenRejectedSubmissionWithFields(20);
+
+        // 0~4 그대로, 5~9 값 변경, 10~19 삭제, 20~24 새로 추가
+        String json = "[" + String.join(",",
+                fieldsJsonItems(0, 5, "v"),
+                fieldsJsonItems(5, 10, "changed"),
+                fieldsJsonItems(20, 25, "new")) + "]";
+        Measured<?> result = db.measure(() -> submissionService.update(submissionId, json, null));
+
+        // 제출 SELECT / 필드 값 SELECT / 배치 UPDATE / DELETE ... IN / 배치 INSERT / 이력 INSERT / 파일 SELECT
+        assertThat(result.statements()).isEqualTo(7);
+        assertThat(result.updates()).isEqualTo(5);
+        assertThat(result.inserts()).isEqualTo(5 + 1);
+
+        em.clear();
+        Map<String, String> stored = em.createQuery(
+                        "from SubmissionFieldValue v where v.submission.submissionId = :id", SubmissionFieldValue.class)
+                .setParameter("id", submissionId)
+                .getResultStream()
+                .collect(Collectors.toMap(SubmissionFieldValue::getFieldName, SubmissionFieldValue::getFieldValue));
+        assertThat(stored).hasSize(15)
+                .containsEntry("항목0", "v")
+                .containsEntry("항목5", "changed")
+                .containsEntry("항목20", "new")
+                .doesNotContainKey("항목10");
+    }
+
+    @Test
+    void unchangedUpsertWritesNoFieldRows() {
+        Integer submissionId = givenRejectedSubmissionWithFields(20);
+
+        Measured<?> result = db.measure(() -> submissionService.update(submissionId, fieldsJson(0, 20, "v"), null));
+
+        // 제출 SELECT / 필드 값 SELECT / 이력 INSERT / 파일 SELECT
+        assertThat(result.statements()).isEqualTo(4);
+        assertThat(result.updates()).isZero();
+        assertThat(result.deletes()).isZero();
+    }
+
+    // 반려된 제출과 필드 값 count 개(항목0..), 이력 한 건을 만들어 ID 할당을 끝내 두고 영속성 컨텍스트를 비운다
+    private Integer givenRejectedSubmissionWithFields(int count) {
+        Submission submission = Submission.builder()
+                .student(em.getReference(Student.class, student.getStudentId()))
+                .docType(em.getReference(DocType.class, docType.getDocTypeId()))
+                .status(SubmissionStatus.REJECTED)
+                .submittedAt(LocalDateTime.now())
+                .build();
+        em.persist(submission);
+        for (int i = 0; i < count; i++) {
+            Integer fieldId = requiredFieldIds.get("항목" + i);
+            em.persist(SubmissionFieldValue.builder().submission(submission)
+                    .requiredField(fieldId == null ? null : em.getReference(RequiredField.class, fieldId))
+                    .fieldName("항목" + i).fieldValue("v").build());
+        }
+        em.persist(SubmissionHistory.builder().submission(submission)
+                .action(HistoryAction.REJECTED).memo("반려").changedAt(LocalDateTime.now()).build());
+        em.flush();
+        em.clear();
+        return submission.getSubmissionId();
+    }
+
+    private static String fieldsJson(int from, int to, String value) {
+        return "[" + fieldsJsonItems(from, to, value) + "]";
+    }
+
+    private static String fieldsJsonItems(int from, int to, String value) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> "{\"label\":\"항목" + i + "\",\"value\":\"" + value + "\"}")
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,92 @@
+package com.cnu.docserver.support;
+
+import com.cnu.docserver.department.entity.Department;
+import com.cnu.docserver.docmanger.entity.DocType;
+import com.cnu.docserver.user.entity.Admin;
+import com.cnu.docserver.user.entity.Member;
+import com.cnu.docserver.user.entity.Student;
+import com.cnu.docserver.user.enums.AcademicStatus;
+import com.cnu.docserver.user.enums.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * {@link QueryCountTest} 에서 쓰는 측정 도구와 공통 픽스처.
+ * <p>
+ * 측정값은 실행 시간이 아니라 Hibernate Statistics 의 문장 수다. 쿼리 수가 데이터 크기와 상관없이
+ * 고정되는지(N+1, 배치)를 확인하는 용도이고, 실제 DB 응답 시간은 재지 않는다.
+ */
+public class QueryCountSupport {
+
+    private final EntityManager em;
+    private final Statistics stats;
+
+    public QueryCountSupport(EntityManager em, EntityManagerFactory emf) {
+        this.em = em;
+        this.stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** 측정 구간에서 나간 prepared statement 수와 엔티티 INSERT/UPDATE/DELETE 수 */
+    public record Measured<T>(T value, long statements, long inserts, long updates, long deletes) {}
+
+    /**
+     * 영속성 컨텍스트를 비운 뒤 action 을 실행하고 flush 까지 한 구간을 잰다.
+     * (커밋 시점에 나갈 배치 INSERT/UPDATE 도 세기 위해 flush 를 포함한다)
+     */
+    public <T> Measured<T> measure(Supplier<T> action) {
+        em.clear();
+        stats.clear();
+        T value = action.get();
+        em.flush();
+        return new Measured<>(value, stats.getPrepareStatementCount(),
+                stats.getEntityInsertCount(), stats.getEntityUpdateCount(), stats.getEntityDeleteCount());
+    }
+
+    public Measured<Void> measure(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /* ---------------- 픽스처 ---------------- */
+
+    public Department department(String name) {
+        Department dept = Department.builder().name(name).build();
+        em.persist(dept);
+        return dept;
+    }
+
+    public DocType docType(Department dept, String title) {
+        DocType docType = DocType.builder().department(dept).title(title).build();
+        em.persist(docType);
+        return docType;
+    }
+
+    public Member member(String memberId, Role role, String name) {
+        Member member = Member.builder().memberId(memberId).password("pw").name(name)
+                .role(role).createdAt(LocalDateTime.now()).build();
+        em.persist(member);
+        return member;
+    }
+
+    /** 재학 중인 학생 (회원 이름은 name) */
+    public Student student(String studentId, String memberId, String name, Department dept) {
+        Student student = Student.builder().studentId(studentId).member(member(memberId, Role.STUDENT, name))
+                .department(dept.getName()).academicStatus(AcademicStatus.ENROLLED).build();
+        em.persist(student);
+        return student;
+    }
+
+    public Admin admin(String adminId, String memberId, String name, Department dept) {
+        Admin admin = Admin.builder().adminId(adminId).member(member(memberId, Role.ADMIN, name))
+                .department(dept.getName()).build();
+        em.persist(admin);
+        return admin;
+    }
+}
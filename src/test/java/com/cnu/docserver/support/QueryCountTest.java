@@ -0,0 +1,28 @@
+package com.cnu.docserver.support;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 쿼리 수 테스트용 슬라이스: 임베디드 H2 + ddl create-drop, Hibernate Statistics 수집.
+ * 배치 등 나머지 JPA 설정은 application.yml 그대로이고, {@link QueryCountSupport} 빈을 함께 등록한다.
+ * 테스트할 서비스는 테스트 클래스에 {@code @Import} 로 따로 붙인다.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(QueryCountSupport.class)
+public @interface QueryCountTest {
+}